@@ -1,12 +1,20 @@
 package org.springframework.experiment.cds;
 
+import java.io.IOException;
 import java.lang.ProcessBuilder.Redirect;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.experiment.cds.parser.CdsArchiveLogParser;
+import org.springframework.lang.Nullable;
 
 /**
  * Helper class to run an application.
@@ -15,6 +23,13 @@ import org.springframework.experiment.cds.parser.CdsArchiveLogParser;
  */
 class AppRunner {
 
+	/**
+	 * The exit code of a JVM stopped by {@code SIGTERM}.
+	 */
+	private static final int SIGTERM_EXIT_CODE = 143;
+
+	private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(60);
+
 	/**
 	 * Run the application specified by the {@code processArguments}, adding the necessary
 	 * flags to enable the creation of a CDS archive.
@@ -23,24 +38,136 @@ class AppRunner {
 	 * @return a file that can be parsed by {@link CdsArchiveLogParser}.
 	 */
 	Path createCdsArchive(Path workingDirectory, List<String> processArguments) throws Exception {
+		return createCdsArchiveInTempFiles(workingDirectory, processArguments, null);
+	}
+
+	/**
+	 * Run the application specified by the {@code processArguments}, adding the necessary
+	 * flags to enable the creation of a CDS archive. Rather than stopping once its
+	 * context has refreshed, the application is started on a free port, exercised by the
+	 * specified {@code workload} once it is ready, and then shut down gracefully so that
+	 * the classes used to serve requests are archived as well.
+	 * @param workingDirectory the working directory to use
+	 * @param processArguments the arguments to pass to the {@code java} process
+	 * @param workload the workload to run against the application
+	 * @return a file that can be parsed by {@link CdsArchiveLogParser}.
+	 */
+	Path createCdsArchiveWithWorkload(Path workingDirectory, List<String> processArguments, TrainingWorkload workload)
+			throws Exception {
+		return createCdsArchiveInTempFiles(workingDirectory, processArguments, workload);
+	}
+
+	private Path createCdsArchiveInTempFiles(Path workingDirectory, List<String> processArguments,
+			@Nullable TrainingWorkload workload) throws Exception {
 		Path cdsArchiveLogFile = Files.createTempFile("cds-archive-warnings", ".log");
+		Path out = Files.createTempFile("cds-archive-run", ".log");
+		int exit = runTraining(workingDirectory, processArguments, cdsArchiveLogFile, out, workload);
+		if (exit != 0) {
+			System.out.println(Files.readString(out));
+			throw new IllegalStateException("Failed to run application, see log above");
+		}
+		return cdsArchiveLogFile;
+	}
+
+	/**
+	 * Run the application specified by the {@code processArguments}, adding the necessary
+	 * flags to enable the creation of a CDS archive. Log files are written in the
+	 * specified {@code tempDirectory} so that concurrent runs do not interfere. If the
+	 * run fails, its output is copied to the working directory.
+	 * @param workingDirectory the working directory to use
+	 * @param processArguments the arguments to pass to the {@code java} process
+	 * @param tempDirectory the directory to use for log files
+	 * @return a file that can be parsed by {@link CdsArchiveLogParser}.
+	 */
+	Path createCdsArchive(Path workingDirectory, List<String> processArguments, Path tempDirectory) throws Exception {
+		Path cdsArchiveLogFile = tempDirectory.resolve("cds-archive-warnings.log");
+		Path out = tempDirectory.resolve("cds-archive-run.log");
+		int exit = runTraining(workingDirectory, processArguments, cdsArchiveLogFile, out, null);
+		if (exit != 0) {
+			Path runLogFile = Files.copy(out, workingDirectory.resolve(out.getFileName()),
+					StandardCopyOption.REPLACE_EXISTING);
+			throw new IllegalStateException("Failed to run application, see " + runLogFile);
+		}
+		return cdsArchiveLogFile;
+	}
+
+	private int runTraining(Path workingDirectory, List<String> processArguments, Path cdsArchiveLogFile, Path out,
+			@Nullable TrainingWorkload workload) throws Exception {
 		List<String> allArguments = new ArrayList<>();
 		allArguments.add("java");
 		allArguments.add("-Xlog:cds=off:stdout"); // disable logging of CDS in the console
 		allArguments.add("-Xlog:cds=warning:file=%s:tags".formatted(cdsArchiveLogFile.toString()));
 		allArguments.add("-XX:ArchiveClassesAtExit=application.jsa");
-		allArguments.add("-Dspring.context.exit=onRefresh"); // Exit automatically
+		int port = (workload != null) ? findFreePort() : -1;
+		if (workload != null) {
+			allArguments.add("-Dserver.port=" + port);
+		}
+		else {
+			allArguments.add("-Dspring.context.exit=onRefresh"); // Exit automatically
+		}
 		allArguments.addAll(processArguments);
-		Path out = Files.createTempFile("cds-archive-run", ".log");
-		int exit = configureOutput(new ProcessBuilder(), out).command(allArguments)
+		Process process = configureOutput(new ProcessBuilder(), out).command(allArguments)
 			.directory(workingDirectory.toFile())
-			.start()
-			.waitFor();
-		if (exit != 0) {
+			.start();
+		if (workload == null) {
+			return waitFor(process);
+		}
+		try {
+			URI baseUri = URI.create("http://localhost:" + port);
+			workload.awaitReadiness(baseUri, process::isAlive);
+			TrainingWorkload.Result result = workload.run(baseUri, workingDirectory);
+			System.out.printf("Replayed %d requests (%d failed)%n", result.requests(), result.failures());
+			if (result.requests() > 0 && result.failures() == result.requests()) {
+				throw new IllegalStateException(
+						"All %d requests of the workload failed, see log above".formatted(result.requests()));
+			}
+		}
+		catch (Exception ex) {
+			process.destroyForcibly().waitFor(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
 			System.out.println(Files.readString(out));
-			throw new IllegalStateException("Failed to run application, see log above");
+			throw ex;
+		}
+		return shutdown(process);
+	}
+
+	/**
+	 * Wait for the specified process to exit, destroying it if the current thread is
+	 * interrupted so that it does not outlive the training run.
+	 */
+	private int waitFor(Process process) throws InterruptedException {
+		try {
+			return process.waitFor();
+		}
+		catch (InterruptedException ex) {
+			process.destroyForcibly();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Stop the specified process gracefully so that the archive is written on exit.
+	 */
+	private int shutdown(Process process) throws InterruptedException {
+		process.destroy(); // SIGTERM
+		try {
+			if (!process.waitFor(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+				throw new IllegalStateException(
+						"Application did not stop within " + SHUTDOWN_TIMEOUT.toSeconds() + "s after SIGTERM");
+			}
+		}
+		catch (InterruptedException ex) {
+			process.destroyForcibly();
+			throw ex;
+		}
+		int exit = process.exitValue();
+		return (exit == SIGTERM_EXIT_CODE) ? 0 : exit;
+	}
+
+	private static int findFreePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			return socket.getLocalPort();
 		}
-		return cdsArchiveLogFile;
 	}
 
 	/**
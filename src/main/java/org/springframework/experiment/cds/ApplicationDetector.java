@@ -0,0 +1,108 @@
+package org.springframework.experiment.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Detect how to start an application based on the content of its directory. Supports a
+ * Spring Boot exploded structure ({@code BOOT-INF}), an extracted application
+ * ({@code run-app.jar}), or a specific jar file.
+ *
+ * @author Stephane Nicoll
+ */
+class ApplicationDetector {
+
+	@Nullable
+	private final String jarFile;
+
+	/**
+	 * Create an instance.
+	 * @param jarFile the name of the jar file to use, or {@code null} to detect the
+	 * structure of the application
+	 */
+	ApplicationDetector(@Nullable String jarFile) {
+		this.jarFile = jarFile;
+	}
+
+	/**
+	 * Detect the application in the specified directory.
+	 * @param directory the directory of the application
+	 * @return the arguments to pass to the {@code java} process to start the application,
+	 * or {@code null} if no application was detected
+	 */
+	@Nullable
+	List<String> detect(Path directory) {
+		if (this.jarFile != null) {
+			return (Files.exists(directory.resolve(this.jarFile))) ? List.of("-jar", this.jarFile) : null;
+		}
+		else if (Files.exists(directory.resolve("BOOT-INF"))) {
+			return List.of("org.springframework.boot.loader.launch.JarLauncher");
+		}
+		else if (Files.exists(directory.resolve("run-app.jar"))) {
+			return List.of("-jar", "run-app.jar");
+		}
+		return null;
+	}
+
+	/**
+	 * Return the launch classpath of an application started with the specified arguments,
+	 * that is the classpath of the application class loader. Jar files referenced by the
+	 * {@code Class-Path} attribute of a manifest are not included.
+	 * @param processArguments the arguments to pass to the {@code java} process, as
+	 * returned by {@link #detect(Path)}
+	 * @return the classpath entries, relative to the directory of the application
+	 */
+	static List<String> getClasspath(List<String> processArguments) {
+		for (int i = 0; i < processArguments.size() - 1; i++) {
+			String argument = processArguments.get(i);
+			if (argument.equals("-jar")) {
+				return List.of(processArguments.get(i + 1));
+			}
+			if (argument.equals("-cp") || argument.equals("-classpath") || argument.equals("--class-path")) {
+				return List.of(processArguments.get(i + 1).split(File.pathSeparator));
+			}
+		}
+		// The default classpath is the current directory
+		return List.of(".");
+	}
+
+	/**
+	 * Find the directories of all the applications under the specified root. The content
+	 * of a directory that contains an application is not searched.
+	 * @param root the root directory
+	 * @param maxDepth the maximum number of directory levels below the root to search
+	 * @return the directories of the applications that were found
+	 * @throws IOException if the root directory cannot be searched
+	 */
+	List<Path> discover(Path root, int maxDepth) throws IOException {
+		List<Path> applications = new ArrayList<>();
+		Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), maxDepth + 1, new SimpleFileVisitor<>() {
+
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+				if (!dir.equals(root) && dir.getFileName().toString().startsWith(".")) {
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				if (detect(dir) != null) {
+					applications.add(dir);
+					return FileVisitResult.SKIP_SUBTREE;
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+		});
+		return applications;
+	}
+
+}
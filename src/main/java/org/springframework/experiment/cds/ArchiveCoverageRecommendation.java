@@ -0,0 +1,120 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Classes that were loaded from the classpath and that could be added to the CDS archive,
+ * as detected by {@link ArchiveCoverageRecommender}.
+ * <p>
+ * A static archive dumped from a class list only holds the listed classes and replaces
+ * the default archive of the JDK. The class list therefore includes the classes that were
+ * already loaded from the cache, except the ones that cannot be listed such as lambdas
+ * and proxies, so that they remain archived.
+ *
+ * @author Stephane Nicoll
+ */
+class ArchiveCoverageRecommendation {
+
+	private final long loadCount;
+
+	private final long hitCount;
+
+	private final List<String> archivedHits;
+
+	private final MultiValueMap<String, String> candidates;
+
+	private final long candidateCount;
+
+	ArchiveCoverageRecommendation(long loadCount, long hitCount, List<String> archivedHits,
+			MultiValueMap<String, String> candidates) {
+		this.loadCount = loadCount;
+		this.hitCount = hitCount;
+		this.archivedHits = List.copyOf(archivedHits);
+		this.candidates = CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>(candidates));
+		this.candidateCount = candidates.values().stream().map(List::size).reduce(0, Integer::sum);
+	}
+
+	/**
+	 * Return the classes that were loaded from the cache and that are kept in the class
+	 * list.
+	 * @return the class names of the hits that can be listed
+	 */
+	List<String> getArchivedHits() {
+		return this.archivedHits;
+	}
+
+	/**
+	 * Return the classes that could be archived, mapped by location.
+	 * @return a map from location to class names that could be archived
+	 */
+	MultiValueMap<String, String> getCandidates() {
+		return this.candidates;
+	}
+
+	/**
+	 * Return the number of classes that could be archived.
+	 * @return the candidate count
+	 */
+	long getCandidateCount() {
+		return this.candidateCount;
+	}
+
+	/**
+	 * Return the locations, ordered by the number of classes that could be archived.
+	 * @return the ranked locations
+	 */
+	List<Entry<String, List<String>>> getRankedLocations() {
+		return this.candidates.entrySet()
+			.stream()
+			.sorted(Comparator.<Entry<String, List<String>>>comparingInt(o -> o.getValue().size()).reversed())
+			.toList();
+	}
+
+	/**
+	 * Return the ratio of classes that were loaded from the cache.
+	 * @return the current hit rate
+	 */
+	float getHitRate() {
+		return (float) this.hitCount / (float) this.loadCount;
+	}
+
+	/**
+	 * Return the ratio of classes that would be loaded from the cache with an archive
+	 * dumped from the {@linkplain #writeClassList(Writer) class list}, that is the hits
+	 * that can be listed and the candidates. This is an upper bound, as the JVM may still
+	 * reject some of them.
+	 * @return the estimated hit rate
+	 */
+	float getEstimatedHitRate() {
+		return (float) (this.archivedHits.size() + this.candidateCount) / (float) this.loadCount;
+	}
+
+	/**
+	 * Write a class list that can be used with {@code -XX:SharedClassListFile}: the
+	 * classes that were loaded from the cache, followed by the candidates.
+	 * @param writer the writer to use
+	 * @throws IOException if the class list cannot be written
+	 */
+	void writeClassList(Writer writer) throws IOException {
+		writer.write("# Classes loaded from the cache%n".formatted());
+		for (String className : this.archivedHits) {
+			writer.write("%s%n".formatted(className.replace('.', '/')));
+		}
+		writer.write("# Classes loaded from the classpath that could be archived%n".formatted());
+		for (Entry<String, List<String>> entry : getRankedLocations()) {
+			writer.write("# %s%n".formatted(entry.getKey()));
+			for (String className : entry.getValue()) {
+				writer.write("%s%n".formatted(className.replace('.', '/')));
+			}
+		}
+	}
+
+}
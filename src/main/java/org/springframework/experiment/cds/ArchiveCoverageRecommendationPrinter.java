@@ -0,0 +1,28 @@
+package org.springframework.experiment.cds;
+
+import java.io.PrintStream;
+
+/**
+ * Print an {@link ArchiveCoverageRecommendation}.
+ *
+ * @author Stephane Nicoll
+ */
+class ArchiveCoverageRecommendationPrinter {
+
+	void print(ArchiveCoverageRecommendation recommendation, PrintStream out) {
+		out.println("--------------------------------------------------------------------------");
+		out.println("Archive Coverage Recommendation:");
+		out.printf("%10d classes loaded from the classpath could be archived%n", recommendation.getCandidateCount());
+		out.printf("%10d classes loaded from the cache are kept%n", recommendation.getArchivedHits().size());
+		out.printf("%10.2f%% current hit rate%n", recommendation.getHitRate() * 100);
+		out.printf("%10.2f%% estimated hit rate (at most)%n", recommendation.getEstimatedHitRate() * 100);
+		out.println();
+		out.println("Top 10 locations:");
+		recommendation.getRankedLocations()
+			.stream()
+			.limit(10)
+			.forEach((entry) -> out.printf("%10d %s%n", entry.getValue().size(), entry.getKey()));
+		out.println("--------------------------------------------------------------------------");
+	}
+
+}
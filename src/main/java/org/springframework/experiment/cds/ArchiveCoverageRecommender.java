@@ -0,0 +1,118 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.springframework.experiment.cds.parser.CdsArchiveReport;
+import org.springframework.experiment.cds.parser.ClassLoadingReport;
+import org.springframework.lang.Nullable;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Find the classes of a {@link ClassLoadingReport} that were loaded from the classpath
+ * but could have been loaded from the CDS archive.
+ * <p>
+ * A static archive dumped with a class list only holds classes of the built-in class
+ * loaders. A class is therefore considered a candidate if it was loaded from the Java
+ * Runtime Image or from a jar file or directory of the launch classpath, including the
+ * jar files referenced by the {@code Class-Path} attribute of their manifest. Classes
+ * loaded from nested jars or by a custom class loader, such as the one of a Spring Boot
+ * executable jar, are not candidates. Lambdas, proxies, hidden classes and classes that
+ * have been excluded from the archive for a known reason are not candidates either.
+ * <p>
+ * As an archive dumped from a class list replaces the default archive of the JDK, the
+ * classes that were loaded from the cache and that can be listed are recommended as well.
+ *
+ * @author Stephane Nicoll
+ */
+class ArchiveCoverageRecommender {
+
+	private final Path workingDirectory;
+
+	private final Set<Path> classpath;
+
+	/**
+	 * Create an instance.
+	 * @param workingDirectory the working directory of the application
+	 * @param classpath the launch classpath of the application, relative to the working
+	 * directory
+	 * @see ApplicationDetector#getClasspath(List)
+	 */
+	ArchiveCoverageRecommender(Path workingDirectory, List<String> classpath) {
+		this.workingDirectory = workingDirectory.toAbsolutePath().normalize();
+		this.classpath = new HashSet<>();
+		classpath.forEach((entry) -> addClasspathEntry(this.workingDirectory.resolve(entry).normalize()));
+	}
+
+	private void addClasspathEntry(Path entry) {
+		if (this.classpath.add(entry) && Files.isRegularFile(entry)) {
+			for (String reference : getManifestClasspath(entry)) {
+				addClasspathEntry(entry.resolveSibling(reference).normalize());
+			}
+		}
+	}
+
+	private static String[] getManifestClasspath(Path jar) {
+		try (JarFile jarFile = new JarFile(jar.toFile())) {
+			Manifest manifest = jarFile.getManifest();
+			String value = (manifest != null) ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH)
+					: null;
+			return (value != null) ? StringUtils.tokenizeToStringArray(value, " ") : new String[0];
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Failed to read manifest of " + jar, ex);
+		}
+	}
+
+	/**
+	 * Recommend the classes to add to the archive.
+	 * @param report the class loading report of the application
+	 * @param archiveReport the report of the creation of the archive, if available
+	 * @return the recommendation
+	 */
+	ArchiveCoverageRecommendation recommend(ClassLoadingReport report, @Nullable CdsArchiveReport archiveReport) {
+		Set<String> skipped = new HashSet<>();
+		if (archiveReport != null) {
+			skipped.addAll(archiveReport.getSkippedClassNames());
+		}
+		MultiValueMap<String, String> candidates = new LinkedMultiValueMap<>();
+		report.getMisses().forEach((location, classNames) -> {
+			if (isArchivableLocation(location)) {
+				classNames.stream()
+					.filter((className) -> isArchivableClass(className) && !skipped.contains(className))
+					.forEach((className) -> candidates.add(location, className));
+			}
+		});
+		List<String> archivedHits = report.getHits().stream().filter(this::isArchivableClass).toList();
+		return new ArchiveCoverageRecommendation(report.getLoadCount(), report.getHits().size(), archivedHits,
+				candidates);
+	}
+
+	private boolean isArchivableLocation(String location) {
+		if (location.startsWith("jrt:/")) {
+			return true;
+		}
+		try {
+			return this.classpath.contains(this.workingDirectory.resolve(location).normalize());
+		}
+		catch (InvalidPathException ex) {
+			return false;
+		}
+	}
+
+	private boolean isArchivableClass(String className) {
+		return !ClassNames.isLambda(className) && !ClassNames.isProxy(className) && !className.contains("/0x");
+	}
+
+}
@@ -0,0 +1,147 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.experiment.cds.parser.CdsArchiveLogParser;
+import org.springframework.experiment.cds.parser.CdsArchiveReport;
+import org.springframework.lang.Nullable;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Create the CDS archive of several applications concurrently, using a bounded number of
+ * training runs at a time.
+ *
+ * @author Stephane Nicoll
+ */
+class BatchArchiveCreator {
+
+	private static final Log logger = LogFactory.getLog(BatchArchiveCreator.class);
+
+	private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+	private final AppRunner appRunner;
+
+	private final ApplicationDetector detector;
+
+	private final int parallelism;
+
+	BatchArchiveCreator(AppRunner appRunner, ApplicationDetector detector, int parallelism) {
+		this.appRunner = appRunner;
+		this.detector = detector;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Return the number of training runs that can run concurrently on this machine, based
+	 * on the number of cores and the physical memory that is currently free.
+	 * @param memoryPerRun the memory, in bytes, that a training run requires
+	 * @return the default parallelism
+	 * @throws IllegalArgumentException if {@code memoryPerRun} is not positive
+	 */
+	static int getDefaultParallelism(long memoryPerRun) {
+		if (memoryPerRun <= 0) {
+			throw new IllegalArgumentException("Memory per run must be positive, got " + memoryPerRun);
+		}
+		int cores = Runtime.getRuntime().availableProcessors();
+		if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+			long byMemory = os.getFreeMemorySize() / memoryPerRun;
+			return (int) Math.max(1, Math.min(cores, byMemory));
+		}
+		return cores;
+	}
+
+	/**
+	 * Create the CDS archive of the specified applications. Each training run uses its
+	 * own temporary directory, that is deleted once the run completes, and writes its
+	 * archive in the directory of the application. If the current thread is interrupted,
+	 * the training runs in progress are stopped, and their process is destroyed.
+	 * @param applications the directories of the applications
+	 * @return the result of each training run, in the order of the applications
+	 * @throws InterruptedException if the current thread is interrupted
+	 */
+	List<Result> create(List<Path> applications) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism);
+		try {
+			List<Future<Result>> futures = new ArrayList<>();
+			for (Path application : applications) {
+				futures.add(executor.submit(() -> create(application)));
+			}
+			List<Result> results = new ArrayList<>();
+			for (Future<Result> future : futures) {
+				try {
+					results.add(future.get());
+				}
+				catch (ExecutionException ex) {
+					throw new IllegalStateException("Unexpected failure", ex.getCause());
+				}
+			}
+			return results;
+		}
+		finally {
+			executor.shutdownNow();
+			// Wait for interrupted runs to destroy their process
+			executor.awaitTermination(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+		}
+	}
+
+	private Result create(Path application) {
+		long start = System.nanoTime();
+		Path tempDirectory = null;
+		try {
+			List<String> processArguments = this.detector.detect(application);
+			if (processArguments == null) {
+				throw new IllegalStateException("No application detected in " + application);
+			}
+			tempDirectory = Files.createTempDirectory("cds-batch");
+			Path cdsArchiveLogFile = this.appRunner.createCdsArchive(application, processArguments, tempDirectory);
+			CdsArchiveReport report = new CdsArchiveLogParser().parse(new FileSystemResource(cdsArchiveLogFile));
+			return new Result(application, report, Duration.ofNanos(System.nanoTime() - start), null);
+		}
+		catch (Exception ex) {
+			return new Result(application, null, Duration.ofNanos(System.nanoTime() - start), ex);
+		}
+		finally {
+			if (tempDirectory != null) {
+				deleteTempDirectory(tempDirectory);
+			}
+		}
+	}
+
+	private void deleteTempDirectory(Path tempDirectory) {
+		try {
+			FileSystemUtils.deleteRecursively(tempDirectory);
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to delete " + tempDirectory, ex);
+		}
+	}
+
+	/**
+	 * The result of the creation of the archive of an application.
+	 *
+	 * @param application the directory of the application
+	 * @param report the report of the creation of the archive, or {@code null} if it
+	 * failed
+	 * @param duration the time it took to run the application
+	 * @param failure the failure, or {@code null} if the archive was created
+	 */
+	record Result(Path application, @Nullable CdsArchiveReport report, Duration duration, @Nullable Exception failure) {
+
+	}
+
+}
@@ -0,0 +1,52 @@
+package org.springframework.experiment.cds;
+
+import java.io.PrintStream;
+
+import org.springframework.experiment.cds.parser.CdsRuntimeReport;
+
+/**
+ * Print the diagnostics of a {@link CdsRuntimeReport}.
+ *
+ * @author Stephane Nicoll
+ */
+class CdsRuntimeReportPrinter {
+
+	void print(CdsRuntimeReport report, PrintStream out) {
+		out.println("--------------------------------------------------------------------------");
+		out.println("CDS Runtime Report:");
+		if (report.isMapped()) {
+			out.printf("%10s archive mapped (%d KB)%n", "OK", report.getMappedSize() / 1024);
+		}
+		else {
+			out.printf("%10s archive NOT mapped, class data sharing is disabled%n", "WARNING");
+		}
+		if (report.isAddressMappingFailed()) {
+			out.printf("%10s archive could not be mapped at the requested address and was relocated, check "
+					+ "-XX:SharedBaseAddress and the address space of the process (ASLR)%n", "WARNING");
+		}
+		else if (report.isRelocated()) {
+			out.printf("%10s archive relocated, expected with -XX:ArchiveRelocationMode=1 (the default as of "
+					+ "JDK 20), use -XX:ArchiveRelocationMode=0 to map it at the requested address%n", "INFO");
+		}
+		if (!report.getRegions().isEmpty()) {
+			out.println();
+			out.println("Regions:");
+			report.getRegions()
+				.forEach((region) -> out.printf("%10d KB %s region #%d (%s)%s%n", region.size() / 1024,
+						region.archive(), region.index(), region.name(), (region.mapped()) ? "" : " unmapped"));
+		}
+		if (report.isRelocated()) {
+			out.println();
+			out.println("Relocation:");
+			report.getAddressFailures().forEach((failure) -> out.printf("%10s %s%n", "", failure));
+			report.getRelocations().forEach((relocation) -> out.printf("%10s %s%n", "", relocation));
+		}
+		if (!report.getValidationFailures().isEmpty()) {
+			out.println();
+			out.println("Validation failures:");
+			report.getValidationFailures().forEach((failure) -> out.printf("%10s %s%n", "", failure));
+		}
+		out.println("--------------------------------------------------------------------------");
+	}
+
+}
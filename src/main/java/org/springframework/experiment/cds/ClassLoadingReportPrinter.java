@@ -1,6 +1,7 @@
 package org.springframework.experiment.cds;
 
 import java.io.PrintStream;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -9,10 +10,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
+import org.springframework.experiment.cds.parser.ClassLoadingEstimate;
+import org.springframework.experiment.cds.parser.ClassLoadingEstimate.Estimate;
 import org.springframework.experiment.cds.parser.ClassLoadingReport;
+import org.springframework.experiment.cds.parser.ThreadActivity;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Print statistics of a {@link ClassLoadingReport}.
@@ -37,6 +41,7 @@ class ClassLoadingReportPrinter {
 		out.printf("%10s %s%n", "Classes",
 				filter(report, Predicate.not(lambda()).and(Predicate.not(proxy()))).createReport(loadCount));
 		out.println();
+		printHiddenClasses(HiddenClassAnalysis.of(report), out);
 		out.println("Top 10 locations from classpath:");
 		extractTop10Locations(report.getMisses())
 			.forEach((entry) -> out.printf("%10d %s%n", entry.getValue().size(), entry.getKey()));
@@ -44,23 +49,135 @@ class ClassLoadingReportPrinter {
 		out.println("Top 10 packages:");
 		extractTop10Packages(report).forEach((entry) -> out.printf("%10d %s (%.2f%% from cache)%n",
 				entry.getValue().total(), entry.getKey(), entry.getValue().hitRate() * 100));
+		if (!report.getThreads().isEmpty()) {
+			out.println();
+			printThreads(report, out);
+		}
 		out.println("--------------------------------------------------------------------------");
 	}
 
+	private void printHiddenClasses(HiddenClassAnalysis analysis, PrintStream out) {
+		if (analysis.getDynamicCount() == 0) {
+			return;
+		}
+		long total = analysis.getArchivedCount() + analysis.getDynamicCount();
+		out.printf("Lambdas and hidden classes: %d spun at runtime, %d (%.2f%%) from cache%n",
+				analysis.getDynamicCount(), analysis.getArchivedCount(),
+				((float) analysis.getArchivedCount() / total) * 100);
+		out.println();
+		out.println("Top 10 hosts of lambdas and hidden classes spun at runtime:");
+		analysis.getTopHosts(10)
+			.forEach((host) -> out.printf("%10d %s (%.2f%% from cache)%n", host.dynamic(), host.name(),
+					host.archivedRate() * 100));
+		out.println();
+		out.println("Top 10 packages of lambdas and hidden classes spun at runtime:");
+		analysis.getTopPackages(10)
+			.forEach((host) -> out.printf("%10d %s (%.2f%% from cache)%n", host.dynamic(), host.name(),
+					host.archivedRate() * 100));
+		out.println();
+	}
+
+	private void printThreads(ClassLoadingReport report, PrintStream out) {
+		long loadCount = report.getLoadCount();
+		out.printf("Top 10 threads (%d threads loaded classes):%n", report.getThreads().size());
+		TopEntries.top(report.getThreads().values(), 10, Comparator.comparingLong(ThreadActivity::getLoadCount))
+			.forEach((thread) -> out.printf("%10d (%5.2f%%): %6.2f%% from cache, %s on thread %s%n",
+					thread.getLoadCount(), ((float) thread.getLoadCount() / loadCount) * 100, thread.getHitRate() * 100,
+					formatSpan(thread), thread.getThreadId()));
+		ThreadActivity mainThread = report.getMainThread();
+		if (mainThread != null) {
+			out.println();
+			out.printf("Main thread %s loaded %d classes (%.2f%%), %d from classpath (%.2f%% of all misses)%n",
+					mainThread.getThreadId(), mainThread.getLoadCount(),
+					((float) mainThread.getLoadCount() / loadCount) * 100, mainThread.getMissCount(),
+					((float) mainThread.getMissCount() / (loadCount - report.getHits().size())) * 100);
+			out.println("Top 10 locations from classpath on the main thread:");
+			extractTop10Locations(mainThread.getMisses())
+				.forEach((entry) -> out.printf("%10d %s%n", entry.getValue().size(), entry.getKey()));
+		}
+	}
+
+	private String formatSpan(ThreadActivity thread) {
+		Duration span = thread.getSpan();
+		if (span == null) {
+			return "-";
+		}
+		return "%dms (%dms-%dms)".formatted(span.toMillis(), thread.getFirstUptime().toMillis(),
+				thread.getLastUptime().toMillis());
+	}
+
+	void print(ClassLoadingSketch sketch, PrintStream out) {
+		out.println("--------------------------------------------------------------------------");
+		out.println("Class Loading Report (approximate):");
+		long loadCount = sketch.getLoadCount();
+		HyperLogLog distinctClasses = sketch.getDistinctClasses();
+		out.printf("%10d classes and JDK proxies loaded%n", loadCount);
+		out.printf("%10d distinct classes (+/-%.2f%%)%n", distinctClasses.estimate(),
+				distinctClasses.getStandardError() * 100);
+		out.printf("%10d (%5.2f%%) from cache%n", sketch.getHits(), sketch.getHitRate() * 100);
+		out.printf("%10d (%5.2f%%) from classpath%n", sketch.getMisses(), (1 - sketch.getHitRate()) * 100);
+		out.println();
+		out.println("Categories:");
+		out.printf("%10s %s%n", "Lambdas", toCategoryDetail(sketch.getLambdas()).createReport(loadCount));
+		out.printf("%10s %s%n", "Proxies", toCategoryDetail(sketch.getProxies()).createReport(loadCount));
+		out.printf("%10s %s%n", "Classes", toCategoryDetail(sketch.getClasses()).createReport(loadCount));
+		out.println();
+		out.printf("Top 10 locations from classpath (counts overestimated by at most %d):%n",
+				sketch.getLocations().getMaxError());
+		sketch.getLocations()
+			.top(10)
+			.forEach((estimate) -> out.printf("%10d %s%n", estimate.count(), estimate.element()));
+		out.println();
+		out.printf("Top 10 packages from classpath (counts overestimated by at most %d):%n",
+				sketch.getPackages().getMaxError());
+		sketch.getPackages()
+			.top(10)
+			.forEach((estimate) -> out.printf("%10d %s%n", estimate.count(), estimate.element()));
+		out.println("--------------------------------------------------------------------------");
+	}
+
+	void print(ClassLoadingEstimate estimate, PrintStream out) {
+		out.println("--------------------------------------------------------------------------");
+		out.printf("Class Loading Report (sampled %.2f%% of %dMB, %d%% confidence):%n",
+				((double) estimate.getSampledBytes() / Math.max(1, estimate.getTotalBytes())) * 100,
+				DataSize.ofBytes(estimate.getTotalBytes()).toMegabytes(), Math.round(estimate.getConfidence() * 100));
+		Estimate loadCount = estimate.getLoadCount();
+		out.printf("%10d classes and JDK proxies loaded (+/-%d), %d parsed%n", Math.round(loadCount.value()),
+				Math.round(loadCount.margin()), estimate.getSampledLoadCount());
+		Estimate hitRate = estimate.getHitRate();
+		out.printf("%9.2f%% (+/-%.2f%%) from cache%n", hitRate.value() * 100, hitRate.margin() * 100);
+		out.printf("%9.2f%% (+/-%.2f%%) from classpath%n", (1 - hitRate.value()) * 100, hitRate.margin() * 100);
+		if (!estimate.getCategoryShares().isEmpty()) {
+			out.println();
+			out.println("Categories:");
+			estimate.getCategoryShares()
+				.forEach((name, share) -> out.printf("%10s %5.2f%% (+/-%.2f%%) of classes%n", name, share.value() * 100,
+						share.margin() * 100));
+		}
+		out.println();
+		out.println("Top 10 locations from classpath:");
+		estimate.getTopLocations(10)
+			.forEach((location) -> out.printf("%10d (+/-%d) %s%n", Math.round(location.count().value()),
+					Math.round(location.count().margin()), location.location()));
+		out.println("--------------------------------------------------------------------------");
+	}
+
+	private CategoryDetail toCategoryDetail(ClassLoadingSketch.CategoryCounter counter) {
+		return new CategoryDetail(counter.getFromCache(), counter.getFromClasspath());
+	}
+
 	private CategoryDetail filter(ClassLoadingReport report, Predicate<String> classNameFilter) {
 		long fromCache = report.getHits().stream().filter(classNameFilter).count();
 		long fromClasspath = report.getMisses().values().stream().flatMap(List::stream).filter(classNameFilter).count();
 		return new CategoryDetail(fromCache, fromClasspath);
 	}
 
-	private Stream<Entry<String, List<String>>> extractTop10Locations(MultiValueMap<String, String> content) {
-		return content.entrySet()
-			.stream()
-			.sorted(Comparator.<Entry<String, List<String>>>comparingInt(o -> o.getValue().size()).reversed())
-			.limit(10);
+	private List<Entry<String, List<String>>> extractTop10Locations(MultiValueMap<String, String> content) {
+		return TopEntries.top(content.entrySet(), 10,
+				Comparator.<Entry<String, List<String>>>comparingInt(o -> o.getValue().size()));
 	}
 
-	private Stream<Entry<String, CategoryDetail>> extractTop10Packages(ClassLoadingReport report) {
+	private List<Entry<String, CategoryDetail>> extractTop10Packages(ClassLoadingReport report) {
 		Map<String, Integer> packageHits = new HashMap<>();
 		report.getHits().forEach((className) -> {
 			String packageName = extractPackageName(className);
@@ -78,26 +195,20 @@ class ClassLoadingReportPrinter {
 		});
 		packageMisses
 			.forEach((className, missCount) -> mappings.putIfAbsent(className, new CategoryDetail(0, missCount)));
-		return mappings.entrySet()
-			.stream()
-			.sorted(Comparator.<Entry<String, CategoryDetail>>comparingLong(o -> o.getValue().total()).reversed())
-			.limit(10);
+		return TopEntries.top(mappings.entrySet(), 10,
+				Comparator.<Entry<String, CategoryDetail>>comparingLong(o -> o.getValue().total()));
 	}
 
 	private String extractPackageName(String className) {
-		String[] split = className.split("\\.");
-		if (split.length > 2) {
-			return "%s.%s".formatted(split[0], split[1]);
-		}
-		return className;
+		return ClassNames.getPackageName(className);
 	}
 
 	private Predicate<String> lambda() {
-		return (className) -> className.contains("$$Lambda");
+		return ClassNames::isLambda;
 	}
 
 	private Predicate<String> proxy() {
-		return (className) -> className.contains("$Proxy");
+		return ClassNames::isProxy;
 	}
 
 	private record CategoryDetail(long fromCache, long fromClasspath) {
@@ -0,0 +1,168 @@
+package org.springframework.experiment.cds;
+
+import java.util.function.Predicate;
+
+import org.springframework.experiment.cds.parser.ClassLoadEvent;
+
+/**
+ * An approximate, mergeable summary of the {@link ClassLoadEvent class load events} of
+ * one or more logs that uses a bounded amount of memory, regardless of the number of
+ * events and of distinct classes and locations that have been added.
+ * <p>
+ * Counts of hits, misses and categories are exact. Top locations and packages are tracked
+ * by {@link SpaceSavingSketch heavy-hitters sketches} and the number of distinct classes
+ * is estimated by a {@link HyperLogLog}.
+ *
+ * @author Stephane Nicoll
+ */
+class ClassLoadingSketch {
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private static final int DEFAULT_PRECISION = 14;
+
+	private final SpaceSavingSketch<String> locations;
+
+	private final SpaceSavingSketch<String> packages;
+
+	private final HyperLogLog distinctClasses;
+
+	private final CategoryCounter lambdas = new CategoryCounter(ClassNames::isLambda);
+
+	private final CategoryCounter proxies = new CategoryCounter(ClassNames::isProxy);
+
+	private final CategoryCounter classes = new CategoryCounter(
+			Predicate.not(ClassNames::isLambda).and(Predicate.not(ClassNames::isProxy)));
+
+	private long hits;
+
+	private long misses;
+
+	ClassLoadingSketch() {
+		this(DEFAULT_CAPACITY, DEFAULT_PRECISION);
+	}
+
+	ClassLoadingSketch(int capacity, int precision) {
+		this.locations = new SpaceSavingSketch<>(capacity);
+		this.packages = new SpaceSavingSketch<>(capacity);
+		this.distinctClasses = new HyperLogLog(precision);
+	}
+
+	/**
+	 * Add the specified class load event to this sketch.
+	 * @param event the event to add
+	 */
+	void add(ClassLoadEvent event) {
+		String className = event.className();
+		boolean hit = event.isHit();
+		if (hit) {
+			this.hits++;
+		}
+		else {
+			this.misses++;
+			this.locations.add(event.location());
+			this.packages.add(ClassNames.getPackageName(className));
+		}
+		this.distinctClasses.add(className);
+		this.lambdas.add(className, hit);
+		this.proxies.add(className, hit);
+		this.classes.add(className, hit);
+	}
+
+	/**
+	 * Merge the specified sketch into this instance.
+	 * @param other the sketch to merge
+	 */
+	void merge(ClassLoadingSketch other) {
+		this.hits += other.hits;
+		this.misses += other.misses;
+		this.locations.merge(other.locations);
+		this.packages.merge(other.packages);
+		this.distinctClasses.merge(other.distinctClasses);
+		this.lambdas.merge(other.lambdas);
+		this.proxies.merge(other.proxies);
+		this.classes.merge(other.classes);
+	}
+
+	long getLoadCount() {
+		return this.hits + this.misses;
+	}
+
+	long getHits() {
+		return this.hits;
+	}
+
+	long getMisses() {
+		return this.misses;
+	}
+
+	float getHitRate() {
+		return (getLoadCount() != 0) ? (float) this.hits / (float) getLoadCount() : 0;
+	}
+
+	HyperLogLog getDistinctClasses() {
+		return this.distinctClasses;
+	}
+
+	CategoryCounter getLambdas() {
+		return this.lambdas;
+	}
+
+	CategoryCounter getProxies() {
+		return this.proxies;
+	}
+
+	CategoryCounter getClasses() {
+		return this.classes;
+	}
+
+	SpaceSavingSketch<String> getLocations() {
+		return this.locations;
+	}
+
+	SpaceSavingSketch<String> getPackages() {
+		return this.packages;
+	}
+
+	/**
+	 * Count the hits and misses of the classes that match a category.
+	 */
+	static final class CategoryCounter {
+
+		private final Predicate<String> classNameFilter;
+
+		private long fromCache;
+
+		private long fromClasspath;
+
+		private CategoryCounter(Predicate<String> classNameFilter) {
+			this.classNameFilter = classNameFilter;
+		}
+
+		private void add(String className, boolean hit) {
+			if (this.classNameFilter.test(className)) {
+				if (hit) {
+					this.fromCache++;
+				}
+				else {
+					this.fromClasspath++;
+				}
+			}
+		}
+
+		private void merge(CategoryCounter other) {
+			this.fromCache += other.fromCache;
+			this.fromClasspath += other.fromClasspath;
+		}
+
+		long getFromCache() {
+			return this.fromCache;
+		}
+
+		long getFromClasspath() {
+			return this.fromClasspath;
+		}
+
+	}
+
+}
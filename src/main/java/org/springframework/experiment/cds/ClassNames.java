@@ -0,0 +1,41 @@
+package org.springframework.experiment.cds;
+
+/**
+ * Utilities to categorize class names.
+ *
+ * @author Stephane Nicoll
+ */
+abstract class ClassNames {
+
+	/**
+	 * Return the package of the specified class, limited to its first two segments.
+	 * @param className the fully qualified name of the class
+	 * @return the package name, or the class name if it has less than three segments
+	 */
+	static String getPackageName(String className) {
+		String[] split = className.split("\\.");
+		if (split.length > 2) {
+			return "%s.%s".formatted(split[0], split[1]);
+		}
+		return className;
+	}
+
+	/**
+	 * Specify if the specified class is a lambda.
+	 * @param className the name of the class
+	 * @return {@code true} if the class is a lambda
+	 */
+	static boolean isLambda(String className) {
+		return className.contains("$$Lambda");
+	}
+
+	/**
+	 * Specify if the specified class is a JDK proxy.
+	 * @param className the name of the class
+	 * @return {@code true} if the class is a proxy
+	 */
+	static boolean isProxy(String className) {
+		return className.contains("$Proxy");
+	}
+
+}
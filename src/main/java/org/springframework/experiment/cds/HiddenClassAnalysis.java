@@ -0,0 +1,135 @@
+package org.springframework.experiment.cds;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.experiment.cds.parser.ClassLoadingReport;
+import org.springframework.lang.Nullable;
+
+/**
+ * Analysis of the lambdas and hidden classes of a {@link ClassLoadingReport}, grouped by
+ * the class that hosts them. Separates lambdas that were loaded from the archive from
+ * those that were spun at runtime.
+ *
+ * @author Stephane Nicoll
+ */
+class HiddenClassAnalysis {
+
+	private static final String HIDDEN_CLASS_SUFFIX = "/0x";
+
+	private final Map<String, HostDetail> hosts;
+
+	private HiddenClassAnalysis(Map<String, HostDetail> hosts) {
+		this.hosts = hosts;
+	}
+
+	/**
+	 * Analyze the specified report.
+	 * @param report the report to analyze
+	 * @return the analysis
+	 */
+	static HiddenClassAnalysis of(ClassLoadingReport report) {
+		Map<String, HostDetail> hosts = new LinkedHashMap<>();
+		report.getHits().forEach((className) -> record(hosts, className, true));
+		report.getMisses()
+			.values()
+			.forEach((classNames) -> classNames.forEach((className) -> record(hosts, className, false)));
+		return new HiddenClassAnalysis(hosts);
+	}
+
+	private static void record(Map<String, HostDetail> hosts, String className, boolean archived) {
+		String host = getHost(className);
+		if (host != null) {
+			hosts.merge(host, new HostDetail(host, (archived) ? 1 : 0, (archived) ? 0 : 1), HostDetail::merge);
+		}
+	}
+
+	/**
+	 * Return the class that hosts the specified lambda or hidden class.
+	 * @param className the name of a class
+	 * @return the name of the host, or {@code null} if the class is neither a lambda nor
+	 * a hidden class
+	 */
+	@Nullable
+	static String getHost(String className) {
+		int lambdaIndex = className.indexOf("$$Lambda");
+		if (lambdaIndex != -1) {
+			return className.substring(0, lambdaIndex);
+		}
+		int hiddenIndex = className.indexOf(HIDDEN_CLASS_SUFFIX);
+		if (hiddenIndex != -1) {
+			return className.substring(0, hiddenIndex);
+		}
+		return null;
+	}
+
+	/**
+	 * Return the number of lambdas and hidden classes that were loaded from the archive.
+	 * @return the archived count
+	 */
+	long getArchivedCount() {
+		return this.hosts.values().stream().mapToLong(HostDetail::archived).sum();
+	}
+
+	/**
+	 * Return the number of lambdas and hidden classes that were spun at runtime.
+	 * @return the dynamic count
+	 */
+	long getDynamicCount() {
+		return this.hosts.values().stream().mapToLong(HostDetail::dynamic).sum();
+	}
+
+	/**
+	 * Return the hosts that spun the highest number of classes at runtime.
+	 * @param limit the maximum number of hosts to return
+	 * @return the top hosts
+	 */
+	List<HostDetail> getTopHosts(int limit) {
+		return top(this.hosts.values(), limit);
+	}
+
+	/**
+	 * Return the packages whose hosts spun the highest number of classes at runtime.
+	 * @param limit the maximum number of packages to return
+	 * @return the top packages
+	 */
+	List<HostDetail> getTopPackages(int limit) {
+		Map<String, HostDetail> packages = new LinkedHashMap<>();
+		this.hosts.values().forEach((host) -> {
+			String packageName = ClassNames.getPackageName(host.name());
+			packages.merge(packageName, new HostDetail(packageName, host.archived(), host.dynamic()),
+					HostDetail::merge);
+		});
+		return top(packages.values(), limit);
+	}
+
+	private static List<HostDetail> top(Iterable<HostDetail> details, int limit) {
+		return TopEntries.top(details, limit, Comparator.comparingLong(HostDetail::dynamic));
+	}
+
+	/**
+	 * The lambdas and hidden classes of a host class or package.
+	 *
+	 * @param name the name of the host class or package
+	 * @param archived the number of classes loaded from the archive
+	 * @param dynamic the number of classes spun at runtime
+	 */
+	record HostDetail(String name, long archived, long dynamic) {
+
+		HostDetail merge(HostDetail other) {
+			return new HostDetail(this.name, this.archived + other.archived, this.dynamic + other.dynamic);
+		}
+
+		long total() {
+			return this.archived + this.dynamic;
+		}
+
+		float archivedRate() {
+			return (float) this.archived / (float) total();
+		}
+
+	}
+
+}
@@ -0,0 +1,102 @@
+package org.springframework.experiment.cds;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.function.Predicate;
+
+import org.springframework.experiment.cds.parser.CdsArchiveReport;
+import org.springframework.experiment.cds.parser.ClassLoadingReport;
+
+/**
+ * The summary of a report, as recorded in a {@link HistoryStore}. An entry summarizes
+ * either a {@link ClassLoadingReport} or a {@link CdsArchiveReport}, the metrics of the
+ * other kind being {@linkplain #isClassLoading() unavailable}.
+ *
+ * @param timestamp the time the report was created
+ * @param application the name of the application
+ * @param version the version of the application
+ * @param loadCount the number of classes loaded, or {@code -1} if this entry does not
+ * summarize a class loading report
+ * @param hitRate the ratio of classes loaded from the cache
+ * @param lambdaShare the ratio of loaded classes that are lambdas
+ * @param proxyShare the ratio of loaded classes that are JDK proxies
+ * @param topLocations the locations from which the most classes were loaded from the
+ * classpath, at most {@value #TOP_LOCATIONS}
+ * @param skippedCount the number of classes skipped from the archive, or {@code -1} if
+ * this entry does not summarize an archive report
+ * @author Stephane Nicoll
+ */
+record HistoryEntry(Instant timestamp, String application, String version, long loadCount, float hitRate,
+		float lambdaShare, float proxyShare, List<LocationCount> topLocations, long skippedCount) {
+
+	/**
+	 * The maximum number of locations that are recorded.
+	 */
+	static final int TOP_LOCATIONS = 3;
+
+	/**
+	 * Create an entry that summarizes the specified class loading report.
+	 * @param timestamp the time the report was created
+	 * @param application the name of the application
+	 * @param version the version of the application
+	 * @param report the report to summarize
+	 * @return a history entry
+	 */
+	static HistoryEntry of(Instant timestamp, String application, String version, ClassLoadingReport report) {
+		long loadCount = report.getLoadCount();
+		long lambdas = countClasses(report, ClassNames::isLambda);
+		long proxies = countClasses(report, ClassNames::isProxy);
+		List<LocationCount> topLocations = TopEntries
+			.top(report.getMisses().entrySet(), TOP_LOCATIONS,
+					Comparator.<Entry<String, List<String>>>comparingInt((entry) -> entry.getValue().size()))
+			.stream()
+			.map((entry) -> new LocationCount(entry.getKey(), entry.getValue().size()))
+			.toList();
+		return new HistoryEntry(timestamp, application, version, loadCount, report.getHitRate(),
+				ratio(lambdas, loadCount), ratio(proxies, loadCount), topLocations, -1);
+	}
+
+	/**
+	 * Create an entry that summarizes the specified archive report.
+	 * @param timestamp the time the report was created
+	 * @param application the name of the application
+	 * @param version the version of the application
+	 * @param report the report to summarize
+	 * @return a history entry
+	 */
+	static HistoryEntry of(Instant timestamp, String application, String version, CdsArchiveReport report) {
+		return new HistoryEntry(timestamp, application, version, -1, Float.NaN, Float.NaN, Float.NaN, List.of(),
+				report.getSkippedCount());
+	}
+
+	/**
+	 * Specify if this entry summarizes a class loading report.
+	 * @return {@code true} for a class loading report, {@code false} for an archive
+	 * report
+	 */
+	boolean isClassLoading() {
+		return this.loadCount != -1;
+	}
+
+	private static long countClasses(ClassLoadingReport report, Predicate<String> classNameFilter) {
+		return report.getHits().stream().filter(classNameFilter).count()
+				+ report.getMisses().values().stream().flatMap(List::stream).filter(classNameFilter).count();
+	}
+
+	private static float ratio(long count, long total) {
+		return (total != 0) ? (float) count / (float) total : 0;
+	}
+
+	/**
+	 * The number of classes loaded from a location.
+	 *
+	 * @param location the location
+	 * @param count the number of classes
+	 */
+	record LocationCount(String location, long count) {
+
+	}
+
+}
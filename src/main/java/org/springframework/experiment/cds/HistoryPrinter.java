@@ -0,0 +1,62 @@
+package org.springframework.experiment.cds;
+
+import java.io.PrintStream;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.experiment.cds.HistoryTrends.Change;
+
+/**
+ * Print the history of an application and the significant changes it went through.
+ *
+ * @author Stephane Nicoll
+ */
+class HistoryPrinter {
+
+	private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+		.withZone(ZoneId.systemDefault());
+
+	void print(String application, List<HistoryEntry> entries, List<Change> changes, int limit, PrintStream out) {
+		out.println("--------------------------------------------------------------------------");
+		out.printf("History of %s (%d entries):%n", application, entries.size());
+		List<HistoryEntry> latest = entries.subList(Math.max(0, entries.size() - limit), entries.size());
+		latest.forEach((entry) -> out.printf("%16s %-15s %s%n", TIMESTAMP_FORMAT.format(entry.timestamp()),
+				entry.version(), summarize(entry)));
+		out.println();
+		if (changes.isEmpty()) {
+			out.println("No significant change detected");
+		}
+		else {
+			out.println("Significant changes:");
+			changes.forEach((change) -> out.printf("%16s %-15s %s%n",
+					TIMESTAMP_FORMAT.format(change.entry().timestamp()), change.entry().version(), describe(change)));
+		}
+		out.println("--------------------------------------------------------------------------");
+	}
+
+	private String summarize(HistoryEntry entry) {
+		if (!entry.isClassLoading()) {
+			return "%d classes skipped from the archive".formatted(entry.skippedCount());
+		}
+		String locations = entry.topLocations()
+			.stream()
+			.map((location) -> "%s (%d)".formatted(location.location(), location.count()))
+			.collect(Collectors.joining(", "));
+		return "%d classes, %.2f%% from cache, %.2f%% lambdas, %.2f%% proxies%s".formatted(entry.loadCount(),
+				entry.hitRate() * 100, entry.lambdaShare() * 100, entry.proxyShare() * 100,
+				(locations.isEmpty()) ? "" : ", top: " + locations);
+	}
+
+	private String describe(Change change) {
+		String direction = (change.value() > change.baseline()) ? "increased" : "decreased";
+		if (change.metric() == HistoryTrends.Metric.HIT_RATE) {
+			return "%s %s from %.2f%% to %.2f%%".formatted(change.metric().getDescription(), direction,
+					change.baseline() * 100, change.value() * 100);
+		}
+		return "%s %s from %.0f to %.0f".formatted(change.metric().getDescription(), direction, change.baseline(),
+				change.value());
+	}
+
+}
@@ -0,0 +1,320 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.experiment.cds.HistoryEntry.LocationCount;
+import org.springframework.lang.Nullable;
+
+/**
+ * An append-only, columnar store of {@link HistoryEntry history entries}, keyed by
+ * application, version and timestamp.
+ * <p>
+ * Each column is stored in its own file as fixed-width values, so that an entry is
+ * located by its index and queries only map the columns they need. Strings, such as
+ * application names and locations, are stored once in a dictionary and referenced by
+ * their index. The timestamp column is written last and defines the number of entries:
+ * values of an entry that was only partially appended are ignored, then overwritten by
+ * the next entry.
+ * <p>
+ * A store can be shared by several processes: appends hold an exclusive lock on a lock
+ * file of the store, and reads a shared lock. The dictionary is reloaded under the lock
+ * so that strings added by another process are known before they are referenced. A
+ * trailing string without its line separator, left by a write that was interrupted, is
+ * ignored, then removed by the next append.
+ *
+ * @author Stephane Nicoll
+ */
+class HistoryStore {
+
+	private static final String DICTIONARY = "strings.txt";
+
+	private static final String LOCK = "history.lock";
+
+	// File locks are held by the JVM, so threads of the same process must not overlap
+	private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+	private final Path directory;
+
+	private final List<String> strings = new ArrayList<>();
+
+	private final Map<String, Integer> ids = new HashMap<>();
+
+	/**
+	 * The number of bytes of the dictionary that hold complete strings.
+	 */
+	private long dictionaryLength;
+
+	HistoryStore(Path directory) throws IOException {
+		this.directory = directory;
+		Files.createDirectories(directory);
+		locked(true, () -> {
+			reloadDictionary();
+			return null;
+		});
+	}
+
+	/**
+	 * Append the specified entry to the store.
+	 * @param entry the entry to append
+	 * @throws IOException if the store cannot be written
+	 */
+	void append(HistoryEntry entry) throws IOException {
+		locked(false, () -> {
+			reloadDictionary();
+			truncateDictionary();
+			doAppend(entry);
+			return null;
+		});
+	}
+
+	private void doAppend(HistoryEntry entry) throws IOException {
+		long index = entryCount();
+		Map<Column, ByteBuffer> values = new EnumMap<>(Column.class);
+		values.put(Column.TIMESTAMP, Column.TIMESTAMP.allocate().putLong(entry.timestamp().toEpochMilli()));
+		values.put(Column.APPLICATION, Column.APPLICATION.allocate().putInt(id(entry.application())));
+		values.put(Column.VERSION, Column.VERSION.allocate().putInt(id(entry.version())));
+		values.put(Column.LOAD_COUNT, Column.LOAD_COUNT.allocate().putLong(entry.loadCount()));
+		values.put(Column.HIT_RATE, Column.HIT_RATE.allocate().putFloat(entry.hitRate()));
+		values.put(Column.LAMBDA_SHARE, Column.LAMBDA_SHARE.allocate().putFloat(entry.lambdaShare()));
+		values.put(Column.PROXY_SHARE, Column.PROXY_SHARE.allocate().putFloat(entry.proxyShare()));
+		ByteBuffer topLocations = Column.TOP_LOCATIONS.allocate();
+		for (int i = 0; i < HistoryEntry.TOP_LOCATIONS; i++) {
+			LocationCount location = (i < entry.topLocations().size()) ? entry.topLocations().get(i) : null;
+			topLocations.putInt((location != null) ? id(location.location()) : -1);
+			topLocations.putLong((location != null) ? location.count() : 0);
+		}
+		values.put(Column.TOP_LOCATIONS, topLocations);
+		values.put(Column.SKIPPED_COUNT, Column.SKIPPED_COUNT.allocate().putLong(entry.skippedCount()));
+		// The timestamp column commits the entry so it must be written last
+		for (Column column : Column.values()) {
+			if (column != Column.TIMESTAMP) {
+				write(column, index, values.get(column));
+			}
+		}
+		write(Column.TIMESTAMP, index, values.get(Column.TIMESTAMP));
+	}
+
+	/**
+	 * Return the number of entries in the store.
+	 * @return the number of entries
+	 * @throws IOException if the store cannot be read
+	 */
+	long size() throws IOException {
+		return locked(true, this::entryCount);
+	}
+
+	private long entryCount() throws IOException {
+		Path timestamps = file(Column.TIMESTAMP);
+		return (Files.exists(timestamps)) ? Files.size(timestamps) / Column.TIMESTAMP.width : 0;
+	}
+
+	/**
+	 * Return the names of the applications that have entries in the store.
+	 * @return the application names
+	 * @throws IOException if the store cannot be read
+	 */
+	List<String> getApplications() throws IOException {
+		return locked(true, () -> {
+			reloadDictionary();
+			return doGetApplications();
+		});
+	}
+
+	private List<String> doGetApplications() throws IOException {
+		int size = (int) entryCount();
+		if (size == 0) {
+			return List.of();
+		}
+		ByteBuffer applications = map(Column.APPLICATION, size);
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			String name = this.strings.get(applications.getInt(offset(Column.APPLICATION, i)));
+			if (!names.contains(name)) {
+				names.add(name);
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Return the entries of the specified application, in the order they were appended.
+	 * @param application the name of the application, or {@code null} to return all
+	 * entries
+	 * @return the matching entries
+	 * @throws IOException if the store cannot be read
+	 */
+	List<HistoryEntry> read(@Nullable String application) throws IOException {
+		return locked(true, () -> {
+			reloadDictionary();
+			return doRead(application);
+		});
+	}
+
+	private List<HistoryEntry> doRead(@Nullable String application) throws IOException {
+		int size = (int) entryCount();
+		Integer applicationId = (application != null) ? this.ids.get(application) : null;
+		if (size == 0 || (application != null && applicationId == null)) {
+			return List.of();
+		}
+		Map<Column, ByteBuffer> columns = new EnumMap<>(Column.class);
+		for (Column column : Column.values()) {
+			columns.put(column, map(column, size));
+		}
+		ByteBuffer applications = columns.get(Column.APPLICATION);
+		List<HistoryEntry> entries = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			if (applicationId == null || applications.getInt(offset(Column.APPLICATION, i)) == applicationId) {
+				entries.add(readEntry(columns, i));
+			}
+		}
+		return entries;
+	}
+
+	private HistoryEntry readEntry(Map<Column, ByteBuffer> columns, int index) {
+		ByteBuffer topLocationsColumn = columns.get(Column.TOP_LOCATIONS);
+		List<LocationCount> topLocations = new ArrayList<>();
+		for (int i = 0; i < HistoryEntry.TOP_LOCATIONS; i++) {
+			int offset = offset(Column.TOP_LOCATIONS, index) + i * (Integer.BYTES + Long.BYTES);
+			int locationId = topLocationsColumn.getInt(offset);
+			if (locationId != -1) {
+				topLocations.add(new LocationCount(this.strings.get(locationId),
+						topLocationsColumn.getLong(offset + Integer.BYTES)));
+			}
+		}
+		return new HistoryEntry(
+				Instant.ofEpochMilli(columns.get(Column.TIMESTAMP).getLong(offset(Column.TIMESTAMP, index))),
+				this.strings.get(columns.get(Column.APPLICATION).getInt(offset(Column.APPLICATION, index))),
+				this.strings.get(columns.get(Column.VERSION).getInt(offset(Column.VERSION, index))),
+				columns.get(Column.LOAD_COUNT).getLong(offset(Column.LOAD_COUNT, index)),
+				columns.get(Column.HIT_RATE).getFloat(offset(Column.HIT_RATE, index)),
+				columns.get(Column.LAMBDA_SHARE).getFloat(offset(Column.LAMBDA_SHARE, index)),
+				columns.get(Column.PROXY_SHARE).getFloat(offset(Column.PROXY_SHARE, index)), topLocations,
+				columns.get(Column.SKIPPED_COUNT).getLong(offset(Column.SKIPPED_COUNT, index)));
+	}
+
+	private <T> T locked(boolean shared, LockedAction<T> action) throws IOException {
+		Path lockFile = this.directory.resolve(LOCK).toAbsolutePath().normalize();
+		synchronized (MONITORS.computeIfAbsent(lockFile, (key) -> new Object())) {
+			try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE); FileLock lock = channel.lock(0, Long.MAX_VALUE, shared)) {
+				return action.run();
+			}
+		}
+	}
+
+	private void reloadDictionary() throws IOException {
+		Path dictionary = this.directory.resolve(DICTIONARY);
+		if (!Files.exists(dictionary)) {
+			return;
+		}
+		byte[] content = Files.readAllBytes(dictionary);
+		int start = (int) this.dictionaryLength;
+		for (int i = start; i < content.length; i++) {
+			if (content[i] == '\n') {
+				String value = new String(content, start, i - start, StandardCharsets.UTF_8);
+				this.ids.put(value, this.strings.size());
+				this.strings.add(value);
+				start = i + 1;
+			}
+		}
+		this.dictionaryLength = start;
+	}
+
+	/**
+	 * Remove the trailing bytes of the dictionary that do not form a complete string, so
+	 * that the next string is not appended to them.
+	 */
+	private void truncateDictionary() throws IOException {
+		Path dictionary = this.directory.resolve(DICTIONARY);
+		if (Files.exists(dictionary) && Files.size(dictionary) > this.dictionaryLength) {
+			try (FileChannel channel = FileChannel.open(dictionary, StandardOpenOption.WRITE)) {
+				channel.truncate(this.dictionaryLength);
+			}
+		}
+	}
+
+	private int id(String value) throws IOException {
+		String sanitized = value.replace('\n', ' ').replace('\r', ' ');
+		Integer id = this.ids.get(sanitized);
+		if (id == null) {
+			byte[] record = (sanitized + "\n").getBytes(StandardCharsets.UTF_8);
+			Files.write(this.directory.resolve(DICTIONARY), record, StandardOpenOption.CREATE,
+					StandardOpenOption.APPEND);
+			this.dictionaryLength += record.length;
+			id = this.strings.size();
+			this.strings.add(sanitized);
+			this.ids.put(sanitized, id);
+		}
+		return id;
+	}
+
+	private void write(Column column, long index, ByteBuffer value) throws IOException {
+		try (FileChannel channel = FileChannel.open(file(column), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE)) {
+			long position = index * column.width;
+			channel.truncate(position);
+			value.flip();
+			channel.write(value, position);
+		}
+	}
+
+	private ByteBuffer map(Column column, int size) throws IOException {
+		try (FileChannel channel = FileChannel.open(file(column), StandardOpenOption.READ)) {
+			long length = (long) size * column.width;
+			if (channel.size() < length) {
+				throw new IllegalStateException("History column '%s' is corrupted: expected at least %d bytes, got %d"
+					.formatted(file(column), length, channel.size()));
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+		}
+	}
+
+	private Path file(Column column) {
+		return this.directory.resolve(column.name().toLowerCase(Locale.ENGLISH) + ".col");
+	}
+
+	private static int offset(Column column, int index) {
+		return index * column.width;
+	}
+
+	@FunctionalInterface
+	private interface LockedAction<T> {
+
+		T run() throws IOException;
+
+	}
+
+	private enum Column {
+
+		TIMESTAMP(Long.BYTES), APPLICATION(Integer.BYTES), VERSION(Integer.BYTES), LOAD_COUNT(Long.BYTES),
+		HIT_RATE(Float.BYTES), LAMBDA_SHARE(Float.BYTES), PROXY_SHARE(Float.BYTES),
+		TOP_LOCATIONS(HistoryEntry.TOP_LOCATIONS * (Integer.BYTES + Long.BYTES)), SKIPPED_COUNT(Long.BYTES);
+
+		private final int width;
+
+		Column(int width) {
+			this.width = width;
+		}
+
+		ByteBuffer allocate() {
+			return ByteBuffer.allocate(this.width);
+		}
+
+	}
+
+}
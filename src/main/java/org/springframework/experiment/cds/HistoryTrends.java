@@ -0,0 +1,130 @@
+package org.springframework.experiment.cds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Detect significant changes in the {@link HistoryEntry history} of an application. The
+ * value of a metric is compared to the mean of the previous entries of the same kind, and
+ * a change is reported when the difference is both larger than three standard deviations
+ * of these entries and larger than the minimum change of the metric.
+ *
+ * @author Stephane Nicoll
+ */
+class HistoryTrends {
+
+	private static final int DEFAULT_WINDOW = 10;
+
+	private final int window;
+
+	HistoryTrends() {
+		this(DEFAULT_WINDOW);
+	}
+
+	HistoryTrends(int window) {
+		this.window = window;
+	}
+
+	/**
+	 * Detect the significant changes in the specified entries of an application.
+	 * @param entries the entries of an application, in the order they were recorded
+	 * @return the significant changes, in the order they happened
+	 */
+	List<Change> detect(List<HistoryEntry> entries) {
+		List<Change> changes = new ArrayList<>();
+		for (Metric metric : Metric.values()) {
+			List<HistoryEntry> candidates = entries.stream().filter(metric.applicable).toList();
+			for (int i = 1; i < candidates.size(); i++) {
+				List<HistoryEntry> baseline = candidates.subList(Math.max(0, i - this.window), i);
+				Change change = detect(metric, baseline, candidates.get(i));
+				if (change != null) {
+					changes.add(change);
+				}
+			}
+		}
+		changes.sort((left, right) -> left.entry().timestamp().compareTo(right.entry().timestamp()));
+		return changes;
+	}
+
+	@Nullable
+	private Change detect(Metric metric, List<HistoryEntry> baseline, HistoryEntry entry) {
+		double mean = baseline.stream().mapToDouble(metric.value).average().orElse(0);
+		double variance = baseline.stream()
+			.mapToDouble(metric.value)
+			.map((value) -> (value - mean) * (value - mean))
+			.sum() / Math.max(1, baseline.size() - 1);
+		double value = metric.value.applyAsDouble(entry);
+		double delta = value - mean;
+		if (Math.abs(delta) > 3 * Math.sqrt(variance) && Math.abs(delta) >= metric.minimumChange(mean)) {
+			return new Change(entry, metric, mean, value);
+		}
+		return null;
+	}
+
+	/**
+	 * A metric of a history entry whose changes are tracked.
+	 */
+	enum Metric {
+
+		/**
+		 * The ratio of classes loaded from the cache.
+		 */
+		HIT_RATE("hit rate", HistoryEntry::isClassLoading, HistoryEntry::hitRate, 0.02, 0),
+
+		/**
+		 * The number of classes loaded.
+		 */
+		LOAD_COUNT("classes loaded", HistoryEntry::isClassLoading, HistoryEntry::loadCount, 1, 0.1),
+
+		/**
+		 * The number of classes skipped from the archive.
+		 */
+		SKIPPED_COUNT("classes skipped", Predicate.not(HistoryEntry::isClassLoading), HistoryEntry::skippedCount, 1,
+				0.1);
+
+		private final String description;
+
+		private final Predicate<HistoryEntry> applicable;
+
+		private final ToDoubleFunction<HistoryEntry> value;
+
+		private final double minimumAbsoluteChange;
+
+		private final double minimumRelativeChange;
+
+		Metric(String description, Predicate<HistoryEntry> applicable, ToDoubleFunction<HistoryEntry> value,
+				double minimumAbsoluteChange, double minimumRelativeChange) {
+			this.description = description;
+			this.applicable = applicable;
+			this.value = value;
+			this.minimumAbsoluteChange = minimumAbsoluteChange;
+			this.minimumRelativeChange = minimumRelativeChange;
+		}
+
+		String getDescription() {
+			return this.description;
+		}
+
+		private double minimumChange(double mean) {
+			return Math.max(this.minimumAbsoluteChange, Math.abs(mean) * this.minimumRelativeChange);
+		}
+
+	}
+
+	/**
+	 * A significant change of a metric.
+	 *
+	 * @param entry the entry where the change was detected
+	 * @param metric the metric that changed
+	 * @param baseline the mean value of the metric in the previous entries
+	 * @param value the value of the metric in the entry
+	 */
+	record Change(HistoryEntry entry, Metric metric, double baseline, double value) {
+
+	}
+
+}
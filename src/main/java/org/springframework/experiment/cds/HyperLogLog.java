@@ -0,0 +1,113 @@
+package org.springframework.experiment.cds;
+
+/**
+ * A HyperLogLog cardinality sketch that estimates the number of distinct strings it has
+ * seen using {@code 2^precision} bytes, regardless of the number of elements.
+ * <p>
+ * The relative standard error of the estimate is {@code 1.04 / sqrt(2^precision)}, see
+ * {@link #getStandardError()}. Sketches with the same precision can be
+ * {@linkplain #merge(HyperLogLog) merged}, the result being the same as if all elements
+ * had been added to a single sketch.
+ *
+ * @author Stephane Nicoll
+ */
+class HyperLogLog {
+
+	private final int precision;
+
+	private final byte[] registers;
+
+	HyperLogLog(int precision) {
+		if (precision < 4 || precision > 18) {
+			throw new IllegalArgumentException("Precision must be between 4 and 18, got " + precision);
+		}
+		this.precision = precision;
+		this.registers = new byte[1 << precision];
+	}
+
+	/**
+	 * Record the specified element.
+	 * @param element the element
+	 */
+	void add(String element) {
+		long hash = hash(element);
+		int index = (int) (hash >>> (64 - this.precision));
+		long remaining = (hash << this.precision) | (1L << (this.precision - 1));
+		byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+		if (rank > this.registers[index]) {
+			this.registers[index] = rank;
+		}
+	}
+
+	/**
+	 * Merge the specified sketch into this instance.
+	 * @param other the sketch to merge
+	 */
+	void merge(HyperLogLog other) {
+		if (other.precision != this.precision) {
+			throw new IllegalArgumentException(
+					"Cannot merge sketches with different precisions: " + this.precision + " and " + other.precision);
+		}
+		for (int i = 0; i < this.registers.length; i++) {
+			this.registers[i] = (byte) Math.max(this.registers[i], other.registers[i]);
+		}
+	}
+
+	/**
+	 * Return the estimated number of distinct elements.
+	 * @return the cardinality estimate
+	 */
+	long estimate() {
+		int m = this.registers.length;
+		double sum = 0;
+		int zeros = 0;
+		for (byte register : this.registers) {
+			sum += 1.0 / (1L << register);
+			if (register == 0) {
+				zeros++;
+			}
+		}
+		double estimate = alpha(m) * m * m / sum;
+		if (estimate <= 2.5 * m && zeros > 0) {
+			// Small range correction using linear counting
+			estimate = m * Math.log((double) m / zeros);
+		}
+		return Math.round(estimate);
+	}
+
+	/**
+	 * Return the relative standard error of {@link #estimate()}.
+	 * @return the standard error, as a ratio of the estimate
+	 */
+	double getStandardError() {
+		return 1.04 / Math.sqrt(this.registers.length);
+	}
+
+	private static double alpha(int m) {
+		return switch (m) {
+			case 16 -> 0.673;
+			case 32 -> 0.697;
+			case 64 -> 0.709;
+			default -> 0.7213 / (1 + 1.079 / m);
+		};
+	}
+
+	/**
+	 * FNV-1a over the characters of the string, followed by the 64-bit finalizer of
+	 * MurmurHash3 to spread the bits.
+	 */
+	private static long hash(String element) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < element.length(); i++) {
+			hash ^= element.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
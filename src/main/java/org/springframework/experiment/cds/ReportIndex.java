@@ -0,0 +1,239 @@
+package org.springframework.experiment.cds;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.experiment.cds.parser.CdsSkipEvent;
+import org.springframework.experiment.cds.parser.ClassLoadEvent;
+import org.springframework.lang.Nullable;
+
+/**
+ * An in-memory index of class loading and CDS archive events that can be queried while it
+ * is being built. All operations are thread-safe.
+ *
+ * @author Stephane Nicoll
+ */
+class ReportIndex {
+
+	/**
+	 * The location used for classes that were loaded from the cache.
+	 */
+	static final String CACHE_LOCATION = "shared objects file";
+
+	private final Map<String, Map<String, String>> locationsByClass = new ConcurrentHashMap<>();
+
+	private final Map<String, Queue<String>> classesByLocation = new ConcurrentHashMap<>();
+
+	private final NavigableMap<String, PackageStatistics> packages = new ConcurrentSkipListMap<>();
+
+	private final Map<String, Queue<String>> classesByReason = new ConcurrentHashMap<>();
+
+	private final Map<String, Source> sources = new ConcurrentHashMap<>();
+
+	/**
+	 * Register a source of events and return it so that its progress can be tracked.
+	 * @param name the name of the source
+	 * @return the source
+	 */
+	Source register(String name) {
+		Source source = new Source(name);
+		this.sources.put(name, source);
+		return source;
+	}
+
+	/**
+	 * Index the specified class load event. As a class can be loaded from a different
+	 * location in each log, its location is indexed by source.
+	 * @param source the source of the event
+	 * @param event the event to index
+	 */
+	void add(Source source, ClassLoadEvent event) {
+		String location = (event.isHit()) ? CACHE_LOCATION : event.location();
+		this.locationsByClass.computeIfAbsent(event.className(), (key) -> new ConcurrentSkipListMap<>())
+			.put(source.getName(), location);
+		this.classesByLocation.computeIfAbsent(location, (key) -> new ConcurrentLinkedQueue<>()).add(event.className());
+		this.packages.computeIfAbsent(getPackageName(event.className()), (key) -> new PackageStatistics())
+			.record(event.isHit());
+	}
+
+	/**
+	 * Index the specified skip event.
+	 * @param event the event to index
+	 */
+	void add(CdsSkipEvent event) {
+		this.classesByReason.computeIfAbsent(event.template(), (key) -> new ConcurrentLinkedQueue<>())
+			.add(event.className());
+	}
+
+	/**
+	 * Return the locations the specified class was loaded from, keyed by the name of the
+	 * source that loaded it.
+	 * @param className the name of the class
+	 * @return the location of the class in each source, {@value #CACHE_LOCATION} if the
+	 * class was loaded from the cache, or an empty map if the class is unknown
+	 */
+	Map<String, String> getLocations(String className) {
+		Map<String, String> locations = this.locationsByClass.get(className);
+		return (locations != null) ? new TreeMap<>(locations) : Collections.emptyMap();
+	}
+
+	/**
+	 * Return the classes that were loaded from the specified location.
+	 * @param location the location
+	 * @return the classes loaded from that location
+	 */
+	List<String> getClasses(String location) {
+		return copy(this.classesByLocation.get(location));
+	}
+
+	/**
+	 * Return the statistics of the classes whose package starts with the specified
+	 * prefix.
+	 * @param prefix the package prefix, such as {@code org.springframework}
+	 * @return the statistics of matching classes
+	 */
+	PackageStatistics getPackageStatistics(String prefix) {
+		PackageStatistics result = new PackageStatistics();
+		this.packages.subMap(prefix, true, prefix + Character.MAX_VALUE, true).forEach((packageName, statistics) -> {
+			if (packageName.equals(prefix) || prefix.isEmpty() || packageName.startsWith(prefix + ".")) {
+				result.merge(statistics);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Return the classes that were skipped from the archive for the specified reason
+	 * template.
+	 * @param reason the reason template
+	 * @return the skipped classes
+	 */
+	List<String> getSkippedClasses(String reason) {
+		return copy(this.classesByReason.get(reason));
+	}
+
+	/**
+	 * Return the templates of the reasons classes were skipped from the archive.
+	 * @return the known reasons
+	 */
+	List<String> getReasons() {
+		return new ArrayList<>(this.classesByReason.keySet());
+	}
+
+	/**
+	 * Return the sources of this index.
+	 * @return the sources
+	 */
+	List<Source> getSources() {
+		return new ArrayList<>(this.sources.values());
+	}
+
+	private static List<String> copy(@Nullable Queue<String> classNames) {
+		return (classNames != null) ? new ArrayList<>(classNames) : Collections.emptyList();
+	}
+
+	private static String getPackageName(String className) {
+		int index = className.lastIndexOf('.');
+		return (index != -1) ? className.substring(0, index) : "";
+	}
+
+	/**
+	 * The number of classes of a package that were loaded from the cache or from the
+	 * classpath.
+	 */
+	static final class PackageStatistics {
+
+		private final LongAdder hits = new LongAdder();
+
+		private final LongAdder misses = new LongAdder();
+
+		private void record(boolean hit) {
+			((hit) ? this.hits : this.misses).increment();
+		}
+
+		private void merge(PackageStatistics other) {
+			this.hits.add(other.hits.sum());
+			this.misses.add(other.misses.sum());
+		}
+
+		long getHits() {
+			return this.hits.sum();
+		}
+
+		long getMisses() {
+			return this.misses.sum();
+		}
+
+		float getHitRate() {
+			long total = getHits() + getMisses();
+			return (total != 0) ? (float) getHits() / (float) total : 0;
+		}
+
+	}
+
+	/**
+	 * A source of events, such as a log file, whose indexing progress can be tracked.
+	 */
+	static final class Source {
+
+		private final String name;
+
+		private final LongAdder events = new LongAdder();
+
+		private volatile Status status = Status.LOADING;
+
+		@Nullable
+		private volatile String error;
+
+		private Source(String name) {
+			this.name = name;
+		}
+
+		String getName() {
+			return this.name;
+		}
+
+		long getEvents() {
+			return this.events.sum();
+		}
+
+		Status getStatus() {
+			return this.status;
+		}
+
+		@Nullable
+		String getError() {
+			return this.error;
+		}
+
+		void recordEvent() {
+			this.events.increment();
+		}
+
+		void loaded() {
+			this.status = Status.LOADED;
+		}
+
+		void failed(String error) {
+			this.error = error;
+			this.status = Status.FAILED;
+		}
+
+		enum Status {
+
+			LOADING, LOADED, FAILED
+
+		}
+
+	}
+
+}
@@ -0,0 +1,248 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.springframework.experiment.cds.ReportIndex.PackageStatistics;
+import org.springframework.experiment.cds.ReportIndex.Source;
+
+/**
+ * A local HTTP server that exposes the content of a {@link ReportIndex} as JSON.
+ * Supported queries are:
+ * <ul>
+ * <li>{@code /status}: the sources of the index and their loading status</li>
+ * <li>{@code /class?name=}: the location a class was loaded from, in each source</li>
+ * <li>{@code /location?name=}: the classes loaded from a location</li>
+ * <li>{@code /package?prefix=}: the hit rate of the classes in a package</li>
+ * <li>{@code /reasons}: the reasons classes were skipped from the archive</li>
+ * <li>{@code /reason?name=}: the classes skipped for a reason</li>
+ * </ul>
+ * Other paths, including those that start with the path of a query, are not found.
+ *
+ * @author Stephane Nicoll
+ */
+class ReportQueryServer {
+
+	private final ReportIndex index;
+
+	private final HttpServer server;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	ReportQueryServer(ReportIndex index, int port) throws IOException {
+		this.index = index;
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		this.server.setExecutor(this.executor);
+		this.server.createContext("/status", (exchange) -> handle(exchange, (query) -> status()));
+		this.server.createContext("/class", (exchange) -> handle(exchange, this::classLocation));
+		this.server.createContext("/location", (exchange) -> handle(exchange, this::locationClasses));
+		this.server.createContext("/package", (exchange) -> handle(exchange, this::packageStatistics));
+		this.server.createContext("/reasons", (exchange) -> handle(exchange, (query) -> reasons()));
+		this.server.createContext("/reason", (exchange) -> handle(exchange, this::reasonClasses));
+	}
+
+	void start() {
+		this.server.start();
+	}
+
+	void stop() {
+		this.server.stop(0);
+		this.executor.shutdown();
+	}
+
+	/**
+	 * Return the port this server listens to.
+	 * @return the port
+	 */
+	int getPort() {
+		return this.server.getAddress().getPort();
+	}
+
+	private String status() {
+		return Json.array(this.index.getSources(), (source) -> Json.object(sourceAttributes(source)));
+	}
+
+	private Map<String, Object> sourceAttributes(Source source) {
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("name", source.getName());
+		attributes.put("status", source.getStatus().name());
+		attributes.put("events", source.getEvents());
+		if (source.getError() != null) {
+			attributes.put("error", source.getError());
+		}
+		return attributes;
+	}
+
+	private String classLocation(Map<String, String> query) {
+		String className = required(query, "name");
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("class", className);
+		attributes.put("locations", this.index.getLocations(className));
+		return Json.object(attributes);
+	}
+
+	private String locationClasses(Map<String, String> query) {
+		String location = required(query, "name");
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("location", location);
+		attributes.put("classes", this.index.getClasses(location));
+		return Json.object(attributes);
+	}
+
+	private String packageStatistics(Map<String, String> query) {
+		String prefix = required(query, "prefix");
+		PackageStatistics statistics = this.index.getPackageStatistics(prefix);
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("prefix", prefix);
+		attributes.put("hits", statistics.getHits());
+		attributes.put("misses", statistics.getMisses());
+		attributes.put("hitRate", statistics.getHitRate());
+		return Json.object(attributes);
+	}
+
+	private String reasons() {
+		return Json.array(this.index.getReasons(), Json::value);
+	}
+
+	private String reasonClasses(Map<String, String> query) {
+		String reason = required(query, "name");
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("reason", reason);
+		attributes.put("classes", this.index.getSkippedClasses(reason));
+		return Json.object(attributes);
+	}
+
+	private void handle(HttpExchange exchange, Function<Map<String, String>, String> handler) throws IOException {
+		int status = 200;
+		String body;
+		try {
+			// A context also handles the paths that it is a prefix of
+			String path = exchange.getRequestURI().getPath();
+			if (!path.equals(exchange.getHttpContext().getPath())) {
+				status = 404;
+				body = error("Unknown query '" + path + "'");
+			}
+			else if (!"GET".equals(exchange.getRequestMethod())) {
+				status = 405;
+				body = error("Only GET is supported");
+			}
+			else {
+				body = handler.apply(parseQuery(exchange.getRequestURI()));
+			}
+		}
+		catch (IllegalArgumentException ex) {
+			status = 400;
+			body = error(ex.getMessage());
+		}
+		catch (RuntimeException ex) {
+			status = 500;
+			body = error((ex.getMessage() != null) ? ex.getMessage() : ex.getClass().getName());
+		}
+		byte[] content = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, content.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(content);
+		}
+	}
+
+	private static String error(String message) {
+		return Json.object(Map.of("error", message));
+	}
+
+	private static String required(Map<String, String> query, String name) {
+		String value = query.get(name);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing '" + name + "' query parameter");
+		}
+		return value;
+	}
+
+	private static Map<String, String> parseQuery(URI uri) {
+		Map<String, String> query = new LinkedHashMap<>();
+		String rawQuery = uri.getRawQuery();
+		if (rawQuery != null) {
+			for (String parameter : rawQuery.split("&")) {
+				int separator = parameter.indexOf('=');
+				String name = (separator != -1) ? parameter.substring(0, separator) : parameter;
+				String value = (separator != -1) ? parameter.substring(separator + 1) : "";
+				query.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+						URLDecoder.decode(value, StandardCharsets.UTF_8));
+			}
+		}
+		return query;
+	}
+
+	/**
+	 * Minimal JSON serialization for the simple structures of the API.
+	 */
+	static final class Json {
+
+		static <T> String array(Collection<T> items, Function<T, String> mapper) {
+			return items.stream().map(mapper).collect(Collectors.joining(",", "[", "]"));
+		}
+
+		static String object(Map<?, ?> attributes) {
+			return attributes.entrySet()
+				.stream()
+				.map((entry) -> value(entry.getKey()) + ":" + value(entry.getValue()))
+				.collect(Collectors.joining(",", "{", "}"));
+		}
+
+		static String value(Object value) {
+			if (value == null) {
+				return "null";
+			}
+			if (value instanceof Number || value instanceof Boolean) {
+				return value.toString();
+			}
+			if (value instanceof Collection<?> items) {
+				return array(items, Json::value);
+			}
+			if (value instanceof Map<?, ?> attributes) {
+				return object(attributes);
+			}
+			return quote(value.toString());
+		}
+
+		private static String quote(String value) {
+			StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+					case '"' -> sb.append("\\\"");
+					case '\\' -> sb.append("\\\\");
+					case '\n' -> sb.append("\\n");
+					case '\r' -> sb.append("\\r");
+					case '\t' -> sb.append("\\t");
+					default -> {
+						if (c < 0x20) {
+							sb.append("\\u%04x".formatted((int) c));
+						}
+						else {
+							sb.append(c);
+						}
+					}
+				}
+			}
+			return sb.append('"').toString();
+		}
+
+	}
+
+}
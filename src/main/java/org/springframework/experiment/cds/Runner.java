@@ -1,21 +1,35 @@
 package org.springframework.experiment.cds;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.experiment.cds.parser.CdsArchiveLogParser;
 import org.springframework.experiment.cds.parser.CdsArchiveReport;
+import org.springframework.experiment.cds.parser.CdsRuntimeLogParser;
+import org.springframework.experiment.cds.parser.CdsRuntimeReport;
+import org.springframework.experiment.cds.parser.ClassLoadingEstimate;
 import org.springframework.experiment.cds.parser.ClassLoadingLogParser;
 import org.springframework.experiment.cds.parser.ClassLoadingReport;
+import org.springframework.experiment.cds.parser.LogDecorators;
+import org.springframework.experiment.cds.parser.SamplingOptions;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.unit.DataSize;
 
 /**
  * {@link ApplicationRunner} implementation that parses and print a class loading report.
@@ -33,6 +47,11 @@ class Runner implements ApplicationRunner {
 		switch (mode) {
 			case PARSE -> parseJvmLogs(args, workingDirectory);
 			case CREATE -> createCdsArchive(args, workingDirectory);
+			case BATCH -> createCdsArchives(args, workingDirectory);
+			case RECOMMEND -> recommendArchiveCoverage(args, workingDirectory);
+			case SERVE -> serve(args, workingDirectory);
+			case DIAGNOSE -> diagnoseCdsRuntime(args, workingDirectory);
+			case HISTORY -> printHistory(args, workingDirectory);
 		}
 	}
 
@@ -47,43 +66,281 @@ class Runner implements ApplicationRunner {
 		System.out.println("Using java version:");
 		System.out.println(appRunner.getJavaVersion());
 		System.out.println("Starting application using command: java " + String.join(" ", applicationArguments));
-		Path cdsArchive = appRunner.createCdsArchive(workingDirectory, applicationArguments);
+		String workloadFile = getValue(args, "workload", null);
+		TrainingWorkload workload = (workloadFile != null)
+				? TrainingWorkload.load(resolveWorkloadFile(workingDirectory, workloadFile)) : null;
+		if (workload != null) {
+			System.out.printf("Training with workload %s (%d steps)%n", workloadFile, workload.getSteps().size());
+		}
+		Path cdsArchive = (workload != null)
+				? appRunner.createCdsArchiveWithWorkload(workingDirectory, applicationArguments, workload)
+				: appRunner.createCdsArchive(workingDirectory, applicationArguments);
 		CdsArchiveReport report = new CdsArchiveLogParser().parse(new FileSystemResource(cdsArchive));
 		new CdsArchiveReportPrinter().print(report, System.out);
+		recordHistory(args, workingDirectory,
+				(application, version) -> HistoryEntry.of(Instant.now(), application, version, report));
 		System.out.println(
 				"To use the archive and collect class loading logs for this application, add the following flags:");
 		System.out.println();
 		System.out.println("\t-XX:SharedArchiveFile=application.jsa -Xlog:class+load:file=cds.log");
+		System.out.println();
+		System.out.println("To diagnose how the archive is mapped at runtime, add the following flag:");
+		System.out.println();
+		System.out.println("\t-Xlog:cds=info,cds+reloc=debug:file=cds-runtime.log:tags");
 	}
 
 	private List<String> detectApplication(ApplicationArguments args, Path workingDirectory) {
 		String jarFile = getValue(args, "jar", null);
-		if (jarFile != null) {
-			if (!Files.exists(workingDirectory.resolve(jarFile))) {
-				throw new IllegalArgumentException(
-						"Specified jar file does not exist: " + workingDirectory.resolve(jarFile));
-			}
-			return List.of("-jar", jarFile);
+		if (jarFile != null && !Files.exists(workingDirectory.resolve(jarFile))) {
+			throw new IllegalArgumentException(
+					"Specified jar file does not exist: " + workingDirectory.resolve(jarFile));
 		}
-		else if (Files.exists(workingDirectory.resolve("BOOT-INF"))) {
-			return List.of("org.springframework.boot.loader.launch.JarLauncher");
+		return new ApplicationDetector(jarFile).detect(workingDirectory);
+	}
+
+	private void createCdsArchives(ApplicationArguments args, Path workingDirectory) throws Exception {
+		ApplicationDetector detector = new ApplicationDetector(getValue(args, "jar", null));
+		List<Path> applications = detector.discover(workingDirectory, Integer.parseInt(getValue(args, "depth", "4")));
+		if (applications.isEmpty()) {
+			throw new IllegalStateException("No application detected in " + workingDirectory);
 		}
-		else if (Files.exists(workingDirectory.resolve("run-app.jar"))) {
-			return List.of("-jar", "run-app.jar");
+		String parallelism = getValue(args, "parallelism", null);
+		String memoryPerRun = getValue(args, "memoryPerRun", "1GB");
+		if (DataSize.parse(memoryPerRun).toBytes() <= 0) {
+			throw new IllegalArgumentException(
+					"Memory per run must be positive: '" + memoryPerRun + "' Check --memoryPerRun");
 		}
-		return null;
+		int poolSize = (parallelism != null) ? Integer.parseInt(parallelism)
+				: BatchArchiveCreator.getDefaultParallelism(DataSize.parse(memoryPerRun).toBytes());
+		System.out.printf("Creating the CDS archive of %d applications, %d at a time ...%n", applications.size(),
+				poolSize);
+		System.out.println();
+		long start = System.nanoTime();
+		List<BatchArchiveCreator.Result> results = new BatchArchiveCreator(new AppRunner(), detector, poolSize)
+			.create(applications);
+		Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+		List<CdsArchiveReport> reports = new ArrayList<>();
+		Duration sequential = Duration.ZERO;
+		for (BatchArchiveCreator.Result result : results) {
+			sequential = sequential.plus(result.duration());
+			Path application = workingDirectory.relativize(result.application());
+			if (result.report() != null) {
+				reports.add(result.report());
+				System.out.printf("%10s %6.1fs %5d skipped %s%n", "OK", result.duration().toMillis() / 1000f,
+						result.report().getSkippedCount(), application);
+			}
+			else {
+				System.out.printf("%10s %6.1fs %s: %s%n", "FAILED", result.duration().toMillis() / 1000f, application,
+						result.failure().getMessage());
+			}
+		}
+		System.out.println();
+		System.out.printf("Created %d archives in %.1fs (%.1fs sequentially)%n", reports.size(),
+				elapsed.toMillis() / 1000f, sequential.toMillis() / 1000f);
+		new CdsArchiveReportPrinter().print(CdsArchiveReport.combine(reports), System.out);
 	}
 
 	private void parseJvmLogs(ApplicationArguments args, Path workingDirectory) throws IOException {
+		if (args.containsOption("approximate") && args.containsOption("sample")) {
+			throw new IllegalArgumentException(
+					"--approximate and --sample cannot be used together, choose one of them");
+		}
+		if (args.containsOption("history") && (args.containsOption("approximate") || args.containsOption("sample"))) {
+			throw new IllegalArgumentException("--history records the exact report of a log, "
+					+ "it cannot be used with --approximate or --sample");
+		}
+		if (args.containsOption("approximate")) {
+			parseJvmLogsApproximate(args, workingDirectory);
+			return;
+		}
+		if (args.containsOption("sample")) {
+			parseJvmLogsSample(args, workingDirectory);
+			return;
+		}
 		String fileName = getValue(args, "logFile", "cds.log");
+		Path logFile = resolveLogFile(workingDirectory, fileName);
+		ClassLoadingLogParser parser = createClassLoadingLogParser(args, workingDirectory);
+		ClassLoadingReport report = parser.parser(new FileSystemResource(logFile));
+		new ClassLoadingReportPrinter().print(report, System.out);
+		recordHistory(args, workingDirectory,
+				(application, version) -> HistoryEntry.of(Instant.now(), application, version, report));
+	}
+
+	private void parseJvmLogsApproximate(ApplicationArguments args, Path workingDirectory) throws IOException {
+		List<String> fileNames = getValues(args, "logFile", List.of("cds.log"));
+		ClassLoadingLogParser parser = createClassLoadingLogParser(args, workingDirectory);
+		ClassLoadingSketch sketch = new ClassLoadingSketch();
+		for (String fileName : fileNames) {
+			Path logFile = resolveLogFile(workingDirectory, fileName);
+			parser.parse(new FileSystemResource(logFile), sketch::add);
+		}
+		new ClassLoadingReportPrinter().print(sketch, System.out);
+	}
+
+	private void parseJvmLogsSample(ApplicationArguments args, Path workingDirectory) throws IOException {
+		Path logFile = resolveLogFile(workingDirectory, getValue(args, "logFile", "cds.log"));
+		SamplingOptions options = SamplingOptions.of(Double.parseDouble(getValue(args, "sample", "0.01")))
+			.withCategory("Lambdas", ClassNames::isLambda)
+			.withCategory("Proxies", ClassNames::isProxy);
+		String seed = getValue(args, "seed", null);
+		if (seed != null) {
+			options = options.withSeed(Long.parseLong(seed));
+		}
+		ClassLoadingEstimate estimate = createClassLoadingLogParser(args, workingDirectory)
+			.sample(new FileSystemResource(logFile), options);
+		new ClassLoadingReportPrinter().print(estimate, System.out);
+	}
+
+	private ClassLoadingLogParser createClassLoadingLogParser(ApplicationArguments args, Path workingDirectory) {
+		String decorators = getValue(args, "decorators", null);
+		return (decorators != null) ? new ClassLoadingLogParser(workingDirectory, LogDecorators.of(decorators))
+				: new ClassLoadingLogParser(workingDirectory);
+	}
+
+	private void diagnoseCdsRuntime(ApplicationArguments args, Path workingDirectory) throws IOException {
+		Path logFile = resolveLogFile(workingDirectory, getValue(args, "logFile", "cds-runtime.log"));
+		CdsRuntimeReport report = new CdsRuntimeLogParser().parse(new FileSystemResource(logFile));
+		new CdsRuntimeReportPrinter().print(report, System.out);
+	}
+
+	private void recommendArchiveCoverage(ApplicationArguments args, Path workingDirectory) throws IOException {
+		Path logFile = resolveLogFile(workingDirectory, getValue(args, "logFile", "cds.log"));
+		ClassLoadingReport report = createClassLoadingLogParser(args, workingDirectory)
+			.parser(new FileSystemResource(logFile));
+		String archiveLogFileName = getValue(args, "archiveLogFile", null);
+		CdsArchiveReport archiveReport = (archiveLogFileName != null) ? new CdsArchiveLogParser()
+			.parse(new FileSystemResource(resolveLogFile(workingDirectory, archiveLogFileName))) : null;
+		List<String> classpath = getClasspath(args, workingDirectory);
+		ArchiveCoverageRecommendation recommendation = new ArchiveCoverageRecommender(workingDirectory, classpath)
+			.recommend(report, archiveReport);
+		new ArchiveCoverageRecommendationPrinter().print(recommendation, System.out);
+		Path classList = workingDirectory.resolve(getValue(args, "classList", "application.classlist"));
+		try (Writer writer = Files.newBufferedWriter(classList)) {
+			recommendation.writeClassList(writer);
+		}
+		System.out.println("Class list written to " + classList.toAbsolutePath());
+		System.out.println("To create a static archive with these classes, that replaces the default archive of the "
+				+ "JDK, run:");
+		System.out.println();
+		System.out.println("\tjava -Xshare:dump -XX:SharedClassListFile=%s -XX:SharedArchiveFile=application.jsa -cp %s"
+			.formatted(classList.getFileName(), String.join(File.pathSeparator, classpath)));
+	}
+
+	private List<String> getClasspath(ApplicationArguments args, Path workingDirectory) {
+		String classpath = getValue(args, "classpath", null);
+		if (classpath != null) {
+			return List.of(classpath.split(File.pathSeparator));
+		}
+		List<String> applicationArguments = detectApplication(args, workingDirectory);
+		if (applicationArguments == null) {
+			throw new IllegalStateException(
+					"No application detected in " + workingDirectory + ", specify its classpath using --classpath");
+		}
+		return ApplicationDetector.getClasspath(applicationArguments);
+	}
+
+	private void serve(ApplicationArguments args, Path workingDirectory) throws Exception {
+		List<String> archiveLogFiles = getValues(args, "archiveLogFile", List.of());
+		List<String> logFiles = getValues(args, "logFile",
+				(archiveLogFiles.isEmpty()) ? List.of("cds.log") : List.of());
+		ReportIndex index = new ReportIndex();
+		ReportQueryServer server = new ReportQueryServer(index, Integer.parseInt(getValue(args, "port", "8180")));
+		ExecutorService loader = Executors.newFixedThreadPool(
+				Math.min(logFiles.size() + archiveLogFiles.size(), Runtime.getRuntime().availableProcessors()));
+		ClassLoadingLogParser parser = createClassLoadingLogParser(args, workingDirectory);
+		for (String fileName : logFiles) {
+			FileSystemResource resource = new FileSystemResource(resolveLogFile(workingDirectory, fileName));
+			ReportIndex.Source source = index.register(fileName);
+			loader.submit(() -> load(source, () -> parser.parse(resource, (event) -> {
+				index.add(source, event);
+				source.recordEvent();
+			})));
+		}
+		CdsArchiveLogParser archiveParser = new CdsArchiveLogParser();
+		for (String fileName : archiveLogFiles) {
+			FileSystemResource resource = new FileSystemResource(resolveLogFile(workingDirectory, fileName));
+			ReportIndex.Source source = index.register(fileName);
+			loader.submit(() -> load(source, () -> archiveParser.parse(resource, (event) -> {
+				index.add(event);
+				source.recordEvent();
+			})));
+		}
+		loader.shutdown();
+		server.start();
+		System.out.println("Serving queries on http://localhost:" + server.getPort() + ", press Ctrl+C to stop");
+		CountDownLatch stopped = new CountDownLatch(1);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			server.stop();
+			stopped.countDown();
+		}));
+		stopped.await();
+	}
+
+	private void printHistory(ApplicationArguments args, Path workingDirectory) throws IOException {
+		HistoryStore store = new HistoryStore(getHistoryDirectory(args, workingDirectory));
+		String application = getValue(args, "app", null);
+		List<String> applications = (application != null) ? List.of(application) : store.getApplications();
+		if (applications.isEmpty()) {
+			System.out.println("No history recorded in " + getHistoryDirectory(args, workingDirectory));
+			return;
+		}
+		int limit = Integer.parseInt(getValue(args, "limit", "10"));
+		HistoryTrends trends = new HistoryTrends();
+		HistoryPrinter printer = new HistoryPrinter();
+		for (String name : applications) {
+			List<HistoryEntry> entries = store.read(name);
+			printer.print(name, entries, trends.detect(entries), limit, System.out);
+		}
+	}
+
+	private void recordHistory(ApplicationArguments args, Path workingDirectory, HistoryEntryFactory factory)
+			throws IOException {
+		if (!args.containsOption("history")) {
+			return;
+		}
+		Path directory = getHistoryDirectory(args, workingDirectory);
+		String application = getValue(args, "app",
+				workingDirectory.toAbsolutePath().normalize().getFileName().toString());
+		String version = getValue(args, "version", "unspecified");
+		new HistoryStore(directory).append(factory.create(application, version));
+		System.out.printf("Recorded %s %s in history at %s%n", application, version, directory);
+	}
+
+	private Path getHistoryDirectory(ApplicationArguments args, Path workingDirectory) {
+		return workingDirectory.resolve(getValue(args, "history", ".cds-history"));
+	}
+
+	private void load(ReportIndex.Source source, IndexLoader loader) {
+		try {
+			loader.load();
+			source.loaded();
+		}
+		catch (Exception ex) {
+			source.failed(ex.getMessage());
+		}
+	}
+
+	private Path resolveLogFile(Path workingDirectory, String fileName) {
 		Path logFile = workingDirectory.resolve(fileName);
 		if (!Files.exists(logFile)) {
 			throw new IllegalArgumentException(
 					"JVM log file does not exist: '" + logFile.toAbsolutePath() + "' Set --target or --logFile");
 		}
-		ClassLoadingLogParser parser = new ClassLoadingLogParser(workingDirectory);
-		ClassLoadingReport report = parser.parser(new FileSystemResource(logFile));
-		new ClassLoadingReportPrinter().print(report, System.out);
+		return logFile;
+	}
+
+	private Path resolveWorkloadFile(Path workingDirectory, String fileName) {
+		Path workloadFile = workingDirectory.resolve(fileName);
+		if (!Files.isRegularFile(workloadFile)) {
+			throw new IllegalArgumentException(
+					"Workload file does not exist: '" + workloadFile.toAbsolutePath() + "' Check --workload");
+		}
+		return workloadFile;
+	}
+
+	private static List<String> getValues(ApplicationArguments args, String option, List<String> defaultValues) {
+		List<String> values = args.getOptionValues(option);
+		return (CollectionUtils.isEmpty(values)) ? defaultValues : values;
 	}
 
 	private static String getValue(ApplicationArguments args, String option, String defaultValue) {
@@ -98,6 +355,20 @@ class Runner implements ApplicationRunner {
 		return values.get(0);
 	}
 
+	@FunctionalInterface
+	private interface HistoryEntryFactory {
+
+		HistoryEntry create(String application, String version);
+
+	}
+
+	@FunctionalInterface
+	private interface IndexLoader {
+
+		void load() throws IOException;
+
+	}
+
 	enum Mode {
 
 		/**
@@ -109,7 +380,36 @@ class Runner implements ApplicationRunner {
 		 * Create the CDS archive for an application and output a report about its
 		 * creation.
 		 */
-		CREATE;
+		CREATE,
+
+		/**
+		 * Create the CDS archive for all the applications found in a directory and output
+		 * a combined report about their creation.
+		 */
+		BATCH,
+
+		/**
+		 * Parse an existing {@code cds.log} file and write a class list of the classes
+		 * loaded from the classpath that could be archived.
+		 */
+		RECOMMEND,
+
+		/**
+		 * Index one or more {@code cds.log} files and serve queries over HTTP.
+		 */
+		SERVE,
+
+		/**
+		 * Parse an existing {@code cds-runtime.log} file and output how the archive was
+		 * mapped.
+		 */
+		DIAGNOSE,
+
+		/**
+		 * Output the history of the reports recorded with {@code --history} and the
+		 * significant changes they went through.
+		 */
+		HISTORY;
 
 		static Mode from(ApplicationArguments arguments) {
 			String value = getValue(arguments, "mode", PARSE.name());
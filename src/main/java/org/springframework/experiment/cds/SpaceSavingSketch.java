@@ -0,0 +1,196 @@
+package org.springframework.experiment.cds;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A heavy-hitters sketch based on the Space-Saving algorithm. Track at most
+ * {@code capacity} elements, regardless of the number of distinct elements that are
+ * added.
+ * <p>
+ * The estimated count of an element never underestimates its actual count, and
+ * overestimates it by at most {@link #getMaxError()}, that is {@code total / capacity}.
+ * Any element whose actual count is greater than that bound is guaranteed to be tracked.
+ * Sketches with the same capacity can be {@linkplain #merge(SpaceSavingSketch) merged}
+ * and the bound still holds for the combined total.
+ *
+ * @param <T> the type of the elements
+ * @author Stephane Nicoll
+ */
+class SpaceSavingSketch<T> {
+
+	private final int capacity;
+
+	private final Map<T, Counter> counters;
+
+	private final TreeMap<Long, LinkedHashSet<T>> buckets = new TreeMap<>();
+
+	private long total;
+
+	SpaceSavingSketch(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+		}
+		this.capacity = capacity;
+		this.counters = new HashMap<>(capacity * 2);
+	}
+
+	/**
+	 * Record an occurrence of the specified element.
+	 * @param element the element
+	 */
+	void add(T element) {
+		add(element, 1);
+	}
+
+	/**
+	 * Record the specified number of occurrences of an element.
+	 * @param element the element
+	 * @param count the number of occurrences
+	 */
+	void add(T element, long count) {
+		this.total += count;
+		Counter counter = this.counters.get(element);
+		if (counter != null) {
+			update(element, counter, counter.count + count, counter.error);
+		}
+		else if (this.counters.size() < this.capacity) {
+			track(element, count, 0);
+		}
+		else {
+			Long min = this.buckets.firstKey();
+			T evicted = this.buckets.get(min).iterator().next();
+			untrack(evicted);
+			track(element, min + count, min);
+		}
+	}
+
+	/**
+	 * Merge the specified sketch into this instance. Elements that are only tracked by
+	 * one of the sketches are assumed to have been seen as many times as the smallest
+	 * counter of the other sketch.
+	 * @param other the sketch to merge
+	 */
+	void merge(SpaceSavingSketch<T> other) {
+		if (other.capacity != this.capacity) {
+			throw new IllegalArgumentException(
+					"Cannot merge sketches with different capacities: " + this.capacity + " and " + other.capacity);
+		}
+		long thisMin = minCount();
+		long otherMin = other.minCount();
+		Map<T, Counter> merged = new HashMap<>();
+		this.counters.forEach((element, counter) -> {
+			Counter otherCounter = other.counters.get(element);
+			merged.put(element,
+					(otherCounter != null)
+							? new Counter(counter.count + otherCounter.count, counter.error + otherCounter.error)
+							: new Counter(counter.count + otherMin, counter.error + otherMin));
+		});
+		other.counters.forEach((element, counter) -> merged.computeIfAbsent(element,
+				(key) -> new Counter(counter.count + thisMin, counter.error + thisMin)));
+		List<Map.Entry<T, Counter>> kept = TopEntries.top(merged.entrySet(), this.capacity,
+				Comparator.comparingLong((entry) -> entry.getValue().count));
+		this.total += other.total;
+		this.counters.clear();
+		this.buckets.clear();
+		kept.forEach((entry) -> track(entry.getKey(), entry.getValue().count, entry.getValue().error));
+	}
+
+	/**
+	 * Return the {@code limit} elements with the highest estimated count.
+	 * @param limit the maximum number of elements to return
+	 * @return the heavy hitters, in descending order of estimated count
+	 */
+	List<Estimate<T>> top(int limit) {
+		List<Estimate<T>> estimates = new ArrayList<>(this.counters.size());
+		this.counters
+			.forEach((element, counter) -> estimates.add(new Estimate<>(element, counter.count, counter.error)));
+		return TopEntries.top(estimates, limit, Comparator.comparingLong(Estimate::count));
+	}
+
+	/**
+	 * Return the total number of occurrences that have been recorded.
+	 * @return the total count
+	 */
+	long getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * Return the maximum amount by which the count of any element can be overestimated.
+	 * @return the error bound
+	 */
+	long getMaxError() {
+		return this.total / this.capacity;
+	}
+
+	private long minCount() {
+		return (this.counters.size() < this.capacity) ? 0 : this.buckets.firstKey();
+	}
+
+	private void track(T element, long count, long error) {
+		Counter counter = new Counter(count, error);
+		this.counters.put(element, counter);
+		this.buckets.computeIfAbsent(count, (key) -> new LinkedHashSet<>()).add(element);
+	}
+
+	private void untrack(T element) {
+		Counter counter = this.counters.remove(element);
+		removeFromBucket(element, counter.count);
+	}
+
+	private void update(T element, Counter counter, long count, long error) {
+		removeFromBucket(element, counter.count);
+		counter.count = count;
+		counter.error = error;
+		this.buckets.computeIfAbsent(count, (key) -> new LinkedHashSet<>()).add(element);
+	}
+
+	private void removeFromBucket(T element, long count) {
+		LinkedHashSet<T> bucket = this.buckets.get(count);
+		bucket.remove(element);
+		if (bucket.isEmpty()) {
+			this.buckets.remove(count);
+		}
+	}
+
+	/**
+	 * The estimated count of an element.
+	 *
+	 * @param element the element
+	 * @param count the estimated count, never lower than the actual count
+	 * @param error the maximum amount by which {@code count} overestimates the actual
+	 * count
+	 * @param <T> the type of the element
+	 */
+	record Estimate<T>(T element, long count, long error) {
+
+		/**
+		 * Return the minimum number of times the element has been seen.
+		 * @return the guaranteed count
+		 */
+		long guaranteedCount() {
+			return this.count - this.error;
+		}
+
+	}
+
+	private static final class Counter {
+
+		private long count;
+
+		private long error;
+
+		Counter(long count, long error) {
+			this.count = count;
+			this.error = error;
+		}
+
+	}
+
+}
@@ -0,0 +1,44 @@
+package org.springframework.experiment.cds;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Select the top elements of a collection using a bounded heap, rather than sorting all
+ * the elements.
+ *
+ * @author Stephane Nicoll
+ */
+abstract class TopEntries {
+
+	/**
+	 * Return the {@code limit} greatest elements of the specified {@code elements},
+	 * ordered from the greatest to the smallest. Requires {@code O(limit)} memory.
+	 * @param elements the elements to consider
+	 * @param limit the maximum number of elements to return
+	 * @param comparator the comparator that defines the natural order of the elements
+	 * @param <T> the type of the elements
+	 * @return the top elements, in descending order
+	 */
+	static <T> List<T> top(Iterable<T> elements, int limit, Comparator<? super T> comparator) {
+		if (limit <= 0) {
+			return List.of();
+		}
+		PriorityQueue<T> heap = new PriorityQueue<>(limit + 1, comparator);
+		for (T element : elements) {
+			if (heap.size() < limit) {
+				heap.add(element);
+			}
+			else if (comparator.compare(element, heap.peek()) > 0) {
+				heap.poll();
+				heap.add(element);
+			}
+		}
+		List<T> result = new ArrayList<>(heap);
+		result.sort(comparator.reversed());
+		return result;
+	}
+
+}
@@ -0,0 +1,274 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+
+/**
+ * A workload that exercises an application while its CDS archive is created, so that
+ * classes that are only used once the application serves requests are archived as well.
+ * <p>
+ * A workload is described by a text file with one directive per line, blank lines and
+ * lines starting with {@code #} being ignored:
+ * <ul>
+ * <li>{@code ready <path>}: the path that must return a successful status once the
+ * application is ready, by default any HTTP response on {@code /} will do</li>
+ * <li>{@code timeout <duration>}: how long to wait for the application to be ready, such
+ * as {@code 90s}, {@value #DEFAULT_TIMEOUT_SECONDS} seconds by default</li>
+ * <li>{@code [<count>x] <method> <path> [<body>]}: an HTTP request to send to the
+ * application, {@code count} times, such as {@code 10x GET /owners}</li>
+ * <li>{@code exec <command>}: a shell command to run, with the URL of the application
+ * available as the {@code APP_URL} environment variable</li>
+ * </ul>
+ *
+ * @author Stephane Nicoll
+ */
+class TrainingWorkload {
+
+	private static final int DEFAULT_TIMEOUT_SECONDS = 60;
+
+	private static final Pattern REQUEST_PATTERN = Pattern
+		.compile("(?:(\\d+)x\\s+)?(GET|HEAD|POST|PUT|PATCH|DELETE|OPTIONS)\\s+(/\\S*)(?:\\s+(.+))?");
+
+	@Nullable
+	private final String readinessPath;
+
+	private final Duration timeout;
+
+	private final List<Step> steps;
+
+	TrainingWorkload(@Nullable String readinessPath, Duration timeout, List<Step> steps) {
+		this.readinessPath = readinessPath;
+		this.timeout = timeout;
+		this.steps = List.copyOf(steps);
+	}
+
+	/**
+	 * Load the workload described by the specified file.
+	 * @param file the file to load
+	 * @return the workload
+	 * @throws IOException if the file cannot be read
+	 */
+	static TrainingWorkload load(Path file) throws IOException {
+		return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parse the workload described by the specified lines.
+	 * @param lines the lines to parse
+	 * @return the workload
+	 * @throws IllegalArgumentException if a line is invalid
+	 */
+	static TrainingWorkload parse(List<String> lines) {
+		String readinessPath = null;
+		Duration timeout = Duration.ofSeconds(DEFAULT_TIMEOUT_SECONDS);
+		List<Step> steps = new ArrayList<>();
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (!StringUtils.hasText(line) || line.startsWith("#")) {
+				continue;
+			}
+			String[] directive = line.split("\\s+", 2);
+			String argument = (directive.length > 1) ? directive[1] : "";
+			switch (directive[0]) {
+				case "ready" -> readinessPath = requirePath(argument, i);
+				case "timeout" -> timeout = DurationStyle.detectAndParse(argument);
+				case "exec" -> {
+					if (argument.isEmpty()) {
+						throw invalidLine(i, line, "missing command");
+					}
+					steps.add(new Script(argument));
+				}
+				default -> steps.add(parseRequest(line, i));
+			}
+		}
+		return new TrainingWorkload(readinessPath, timeout, steps);
+	}
+
+	private static Request parseRequest(String line, int index) {
+		Matcher matcher = REQUEST_PATTERN.matcher(line);
+		if (!matcher.matches()) {
+			throw invalidLine(index, line, "expected [<count>x] <method> <path> [<body>]");
+		}
+		int count = (matcher.group(1) != null) ? Integer.parseInt(matcher.group(1)) : 1;
+		return new Request(matcher.group(2), matcher.group(3), matcher.group(4), count);
+	}
+
+	private static String requirePath(String path, int index) {
+		if (!path.startsWith("/")) {
+			throw invalidLine(index, path, "path must start with '/'");
+		}
+		return path;
+	}
+
+	private static IllegalArgumentException invalidLine(int index, String line, String reason) {
+		return new IllegalArgumentException("Invalid workload line %d '%s': %s".formatted(index + 1, line, reason));
+	}
+
+	@Nullable
+	String getReadinessPath() {
+		return this.readinessPath;
+	}
+
+	Duration getTimeout() {
+		return this.timeout;
+	}
+
+	List<Step> getSteps() {
+		return this.steps;
+	}
+
+	/**
+	 * Wait until the application at the specified URL is ready.
+	 * @param baseUri the URL of the application
+	 * @param alive whether the application is still running
+	 * @throws InterruptedException if the current thread is interrupted
+	 * @throws IllegalStateException if the application stopped or did not become ready in
+	 * time
+	 */
+	void awaitReadiness(URI baseUri, BooleanSupplier alive) throws InterruptedException {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+		HttpRequest request = HttpRequest
+			.newBuilder(baseUri.resolve((this.readinessPath != null) ? this.readinessPath : "/"))
+			.timeout(Duration.ofSeconds(5))
+			.build();
+		long deadline = System.nanoTime() + this.timeout.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!alive.getAsBoolean()) {
+				throw new IllegalStateException("Application stopped before it was ready");
+			}
+			try {
+				HttpResponse<Void> response = client.send(request, BodyHandlers.discarding());
+				if (this.readinessPath == null || isSuccessful(response)) {
+					return;
+				}
+			}
+			catch (IOException ex) {
+				// Not accepting connections yet
+			}
+			Thread.sleep(250);
+		}
+		throw new IllegalStateException("Application was not ready after " + this.timeout.toMillis() + "ms");
+	}
+
+	/**
+	 * Run the steps of this workload against the application at the specified URL.
+	 * @param baseUri the URL of the application
+	 * @param workingDirectory the directory in which scripts are run
+	 * @return a summary of the requests that were sent
+	 * @throws IOException if a script cannot be run
+	 * @throws InterruptedException if the current thread is interrupted
+	 */
+	Result run(URI baseUri, Path workingDirectory) throws IOException, InterruptedException {
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+		int requests = 0;
+		int failures = 0;
+		for (Step step : this.steps) {
+			if (step instanceof Request request) {
+				for (int i = 0; i < request.count(); i++) {
+					requests++;
+					if (!send(client, baseUri, request)) {
+						failures++;
+					}
+				}
+			}
+			else if (step instanceof Script script) {
+				run(script, baseUri, workingDirectory);
+			}
+		}
+		return new Result(requests, failures);
+	}
+
+	private boolean send(HttpClient client, URI baseUri, Request request) throws InterruptedException {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(request.path()))
+			.timeout(Duration.ofSeconds(30));
+		if (request.body() != null) {
+			String body = request.body();
+			boolean json = body.startsWith("{") || body.startsWith("[");
+			builder.header("Content-Type", (json) ? "application/json" : "text/plain")
+				.method(request.method(), BodyPublishers.ofString(body));
+		}
+		else {
+			builder.method(request.method(), BodyPublishers.noBody());
+		}
+		try {
+			return isSuccessful(client.send(builder.build(), BodyHandlers.discarding()));
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+
+	private void run(Script script, URI baseUri, Path workingDirectory) throws IOException, InterruptedException {
+		ProcessBuilder processBuilder = new ProcessBuilder("sh", "-c", script.command())
+			.directory(workingDirectory.toFile())
+			.inheritIO();
+		processBuilder.environment().put("APP_URL", baseUri.toString());
+		int exit = processBuilder.start().waitFor();
+		if (exit != 0) {
+			throw new IllegalStateException(
+					"Workload script '%s' failed with exit code %d".formatted(script.command(), exit));
+		}
+	}
+
+	private static boolean isSuccessful(HttpResponse<?> response) {
+		return response.statusCode() >= 200 && response.statusCode() < 400;
+	}
+
+	/**
+	 * A step of a workload.
+	 */
+	sealed interface Step permits Request, Script {
+
+	}
+
+	/**
+	 * An HTTP request to send to the application.
+	 *
+	 * @param method the HTTP method
+	 * @param path the path of the request, relative to the application URL
+	 * @param body the body of the request, or {@code null}
+	 * @param count the number of times the request is sent
+	 */
+	record Request(String method, String path, @Nullable String body, int count) implements Step {
+
+	}
+
+	/**
+	 * A shell command to run.
+	 *
+	 * @param command the command
+	 */
+	record Script(String command) implements Step {
+
+	}
+
+	/**
+	 * The summary of a workload run.
+	 *
+	 * @param requests the number of requests that were sent
+	 * @param failures the number of requests that failed or did not return a successful
+	 * status
+	 */
+	record Result(int requests, int failures) {
+
+	}
+
+}
@@ -1,17 +1,16 @@
 package org.springframework.experiment.cds.parser;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
+import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.io.Resource;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.util.StringUtils;
+import org.springframework.experiment.cds.parser.SkipReasonNormalizer.NormalizedReason;
+import org.springframework.lang.Nullable;
 
 /**
  * Simple log parser that expects only tags to be specified as decorators of the JVM logs,
@@ -26,63 +25,63 @@ public class CdsArchiveLogParser {
 	private static final Log logger = LogFactory.getLog(CdsArchiveLogParser.class);
 
 	public CdsArchiveReport parse(Resource resource) throws IOException {
-		if (!resource.exists()) {
-			throw new IllegalAccessError("Resource " + resource + " does not exist");
+		try (Stream<CdsSkipEvent> events = events(resource)) {
+			return events.collect(CdsArchiveReport.collector());
 		}
-		LogLineParser lineParser = new LogLineParser();
-		process(resource, lineParser);
-		return lineParser.toReport();
 	}
 
-	private void process(Resource resource, Consumer<String> line) throws IOException {
-		try (Scanner scanner = new Scanner(resource.getInputStream(), StandardCharsets.UTF_8)) {
-			while (scanner.hasNextLine()) {
-				String nextLine = scanner.nextLine();
-				if (StringUtils.hasText(nextLine)) {
-					line.accept(nextLine);
-				}
-			}
+	/**
+	 * Parse the specified resource and invoke the specified {@code consumer} for each
+	 * class that has been skipped, in the order of the log.
+	 * @param resource the resource to parse
+	 * @param consumer the consumer of skip events
+	 * @throws IOException if the resource cannot be read
+	 */
+	public void parse(Resource resource, Consumer<CdsSkipEvent> consumer) throws IOException {
+		try (Stream<CdsSkipEvent> events = events(resource)) {
+			events.forEach(consumer);
 		}
 	}
 
-	private class LogLineParser implements Consumer<String> {
+	/**
+	 * Return a lazy stream of the classes that have been skipped, in the order of the
+	 * log. Lines are only read and parsed as the stream is consumed, and the stream must
+	 * be closed to release the resource. Use {@link CdsArchiveReport#collector()} to
+	 * create a report out of the stream.
+	 * @param resource the resource to parse
+	 * @return a stream of skip events
+	 * @throws IOException if the resource cannot be opened
+	 */
+	public Stream<CdsSkipEvent> events(Resource resource) throws IOException {
+		LogLineParser lineParser = new LogLineParser();
+		return LogLines.of(resource).map(lineParser::parse).filter(Objects::nonNull);
+	}
+
+	private static class LogLineParser {
 
 		private static final String SKIPPING_TAG = "Skipping";
 
-		private final MultiValueMap<String, String> skipped = new LinkedMultiValueMap<>();
-
-		@Override
-		public void accept(String content) {
+		@Nullable
+		CdsSkipEvent parse(String content) {
 			LogLine logLine = LogLine.parse(content);
 			if (!logLine.containTags("cds")) {
-				return;
+				return null;
 			}
 			String message = logLine.message();
 			if (!message.startsWith(SKIPPING_TAG)) {
 				logger.debug("Could not process " + message);
-				return;
+				return null;
 			}
 			String classNameAndReason = message.substring(SKIPPING_TAG.length());
 			int separator = classNameAndReason.indexOf(":");
 			if (separator == -1) {
 				logger.warn("Separator not found " + message);
-				return;
+				return null;
 			}
 			String className = classNameAndReason.substring(0, separator).trim().replace('/', '.');
 			String reason = classNameAndReason.substring(separator + 1).trim();
-			if (reason.contains("is excluded") && reason.contains("interface ")) {
-				skipped.add(CdsArchiveReport.INTERFACE_EXCLUDED, className);
-			}
-			else if (reason.contains("is excluded") && reason.contains("super class ")) {
-				skipped.add(CdsArchiveReport.SUPER_CLASS_EXCLUDED, className);
-			}
-			else {
-				skipped.add(reason, className);
-			}
-		}
-
-		public CdsArchiveReport toReport() {
-			return new CdsArchiveReport(this.skipped);
+			NormalizedReason normalizedReason = SkipReasonNormalizer.normalize(reason);
+			return new CdsSkipEvent(className, normalizedReason.template(), normalizedReason.parameters());
 		}
 
 	}
@@ -1,12 +1,21 @@
 package org.springframework.experiment.cds.parser;
 
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
 
+import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
 /**
+ * Report of the classes that were skipped when creating the CDS archive. Reasons are
+ * normalized to templates so that skips are aggregated in a small number of buckets,
+ * while the original reason of each skip remains available.
+ *
  * @author Stephane Nicoll
  */
 public class CdsArchiveReport {
@@ -23,13 +32,37 @@ public class CdsArchiveReport {
 	 */
 	public static final String SUPER_CLASS_EXCLUDED = "super class is excluded";
 
-	private final MultiValueMap<String, String> skipped;
+	private final SkipTable skipped;
 
-	private final long total;
+	@Nullable
+	private volatile MultiValueMap<String, String> skippedByTemplate;
 
-	CdsArchiveReport(MultiValueMap<String, String> skipped) {
-		this.skipped = CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>(skipped));
-		this.total = this.skipped.values().stream().map(List::size).reduce(0, Integer::sum);
+	CdsArchiveReport(SkipTable skipped) {
+		this.skipped = skipped;
+	}
+
+	/**
+	 * Return a {@link Collector} that creates a report out of a stream of skip events.
+	 * The collector can be used with parallel streams.
+	 * @return a collector of skip events
+	 */
+	public static Collector<CdsSkipEvent, ?, CdsArchiveReport> collector() {
+		return Collector.of(SkipTable::new, SkipTable::add, (left, right) -> {
+			left.addAll(right);
+			return left;
+		}, CdsArchiveReport::new);
+	}
+
+	/**
+	 * Combine the specified reports, for instance of several applications, in a single
+	 * report.
+	 * @param reports the reports to combine
+	 * @return a report with the skipped classes of all the specified reports
+	 */
+	public static CdsArchiveReport combine(List<CdsArchiveReport> reports) {
+		SkipTable skipped = new SkipTable();
+		reports.forEach((report) -> skipped.addAll(report.skipped));
+		return new CdsArchiveReport(skipped);
 	}
 
 	/**
@@ -37,15 +70,80 @@ public class CdsArchiveReport {
 	 * @return the number of excluded classes
 	 */
 	public long getSkippedCount() {
-		return this.total;
+		return this.skipped.size();
+	}
+
+	/**
+	 * Return the number of classes that were skipped, mapped by reason template.
+	 * @return a mapping of skipped count by reason template
+	 */
+	public Map<String, Long> getReasonCounts() {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (int i = 0; i < this.skipped.distinctTemplates(); i++) {
+			counts.put(this.skipped.template(i), this.skipped.countOf(i));
+		}
+		return counts;
 	}
 
 	/**
-	 * Return the classes that were excluded, mapped by reasons.
+	 * Return the classes that were excluded, mapped by reason template. The mapping is
+	 * created on first access.
 	 * @return a mapping of class names by reason for exclusion
 	 */
 	public MultiValueMap<String, String> getSkipped() {
-		return this.skipped;
+		MultiValueMap<String, String> skippedByTemplate = this.skippedByTemplate;
+		if (skippedByTemplate == null) {
+			MultiValueMap<String, String> skipped = new LinkedMultiValueMap<>();
+			for (int i = 0; i < this.skipped.size(); i++) {
+				skipped.add(this.skipped.template(this.skipped.templateId(i)), this.skipped.className(i));
+			}
+			skippedByTemplate = CollectionUtils.unmodifiableMultiValueMap(skipped);
+			this.skippedByTemplate = skippedByTemplate;
+		}
+		return skippedByTemplate;
+	}
+
+	/**
+	 * Return the names of the classes that were excluded, in the order of the log. The
+	 * list is a view of the report that does not copy the class names.
+	 * @return the skipped class names
+	 */
+	public List<String> getSkippedClassNames() {
+		return new AbstractList<>() {
+
+			@Override
+			public String get(int index) {
+				return CdsArchiveReport.this.skipped.className(index);
+			}
+
+			@Override
+			public int size() {
+				return CdsArchiveReport.this.skipped.size();
+			}
+
+		};
+	}
+
+	/**
+	 * Return the classes that were excluded, including the original reason, in the order
+	 * of the log. The list is a view of the report that creates each event on access: use
+	 * {@link #getSkippedClassNames()} if only the class names are needed.
+	 * @return the skipped classes
+	 */
+	public List<CdsSkipEvent> getSkips() {
+		return new AbstractList<>() {
+
+			@Override
+			public CdsSkipEvent get(int index) {
+				return CdsArchiveReport.this.skipped.get(index);
+			}
+
+			@Override
+			public int size() {
+				return CdsArchiveReport.this.skipped.size();
+			}
+
+		};
 	}
 
 }
@@ -0,0 +1,134 @@
+package org.springframework.experiment.cds.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.experiment.cds.parser.CdsRuntimeReport.MappedRegion;
+
+/**
+ * Simple log parser for the CDS logs of an application that uses an archive, something
+ * like: <pre>
+ * -Xlog:cds=info,cds+reloc=debug:file=cds-runtime.log:tags
+ * </pre>
+ *
+ * @author Stephane Nicoll
+ */
+public class CdsRuntimeLogParser {
+
+	private static final Log logger = LogFactory.getLog(CdsRuntimeLogParser.class);
+
+	public CdsRuntimeReport parse(Resource resource) throws IOException {
+		LogLineParser lineParser = new LogLineParser();
+		try (Stream<String> lines = LogLines.of(resource)) {
+			lines.forEach(lineParser);
+		}
+		return lineParser.toReport();
+	}
+
+	private static class LogLineParser implements Consumer<String> {
+
+		private static final Pattern MAPPED_REGION = Pattern.compile(
+				"Mapped (static|dynamic)\\s+region #(\\d+) at base 0x([0-9a-fA-F]+) top 0x([0-9a-fA-F]+) \\((\\w+)\\)");
+
+		private static final Pattern UNMAPPED_REGION = Pattern
+			.compile("Unmapping region #(\\d+) at base 0x([0-9a-fA-F]+)");
+
+		private static final String VALIDATION_FAILURE_PREFIX = "UseSharedSpaces:";
+
+		private static final List<String> VALIDATION_FAILURES = List.of("Unable to use shared archive", "Unable to map",
+				"shared class paths mismatch", "Specified shared archive not found",
+				"An error has occurred while processing the shared archive file",
+				"The shared archive file was created by a different version or build of HotSpot",
+				"The shared archive file has a bad magic number", "The shared archive file has the wrong version");
+
+		private final List<MappedRegion> regions = new ArrayList<>();
+
+		private final List<String> addressFailures = new ArrayList<>();
+
+		private final List<String> relocations = new ArrayList<>();
+
+		private final List<String> validationFailures = new ArrayList<>();
+
+		@Override
+		public void accept(String content) {
+			LogLine logLine = LogLine.parse(content);
+			if (!logLine.containTags("cds")) {
+				return;
+			}
+			String message = logLine.message();
+			Matcher mapped = MAPPED_REGION.matcher(message);
+			if (mapped.find()) {
+				this.regions.add(new MappedRegion(mapped.group(1), Integer.parseInt(mapped.group(2)), mapped.group(5),
+						Long.parseUnsignedLong(mapped.group(3), 16), Long.parseUnsignedLong(mapped.group(4), 16),
+						true));
+				return;
+			}
+			Matcher unmapped = UNMAPPED_REGION.matcher(message);
+			if (unmapped.find()) {
+				unmap(Integer.parseInt(unmapped.group(1)), Long.parseUnsignedLong(unmapped.group(2), 16));
+				return;
+			}
+			if (isHeapRelocation(logLine)) {
+				return;
+			}
+			if (isAddressFailure(message)) {
+				this.addressFailures.add(message);
+				return;
+			}
+			if (isRelocation(logLine)) {
+				this.relocations.add(message);
+				return;
+			}
+			if (message.startsWith(VALIDATION_FAILURE_PREFIX)) {
+				this.validationFailures.add(message.substring(VALIDATION_FAILURE_PREFIX.length()).trim());
+				return;
+			}
+			if (VALIDATION_FAILURES.stream().anyMatch(message::contains)) {
+				this.validationFailures.add(message);
+				return;
+			}
+			logger.debug("Could not process " + message);
+		}
+
+		private boolean isHeapRelocation(LogLine logLine) {
+			// The heap region is relocated independently of the archive
+			return logLine.containTags("heap") || logLine.message().toLowerCase(Locale.ENGLISH).contains("heap");
+		}
+
+		private boolean isAddressFailure(String message) {
+			return message.toLowerCase(Locale.ENGLISH).contains("at required address");
+		}
+
+		private boolean isRelocation(LogLine logLine) {
+			String message = logLine.message().toLowerCase(Locale.ENGLISH);
+			return logLine.containTags("reloc") || message.contains("alternative address")
+					|| message.contains("archiverelocationmode") || message.startsWith("relocating archive");
+		}
+
+		private void unmap(int index, long base) {
+			for (int i = 0; i < this.regions.size(); i++) {
+				MappedRegion region = this.regions.get(i);
+				if (region.mapped() && region.index() == index && region.base() == base) {
+					this.regions.set(i, new MappedRegion(region.archive(), region.index(), region.name(), region.base(),
+							region.top(), false));
+				}
+			}
+		}
+
+		CdsRuntimeReport toReport() {
+			return new CdsRuntimeReport(this.regions, this.addressFailures, this.relocations, this.validationFailures);
+		}
+
+	}
+
+}
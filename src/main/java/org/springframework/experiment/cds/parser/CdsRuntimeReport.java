@@ -0,0 +1,125 @@
+package org.springframework.experiment.cds.parser;
+
+import java.util.List;
+
+/**
+ * Report of how the CDS archive was used at runtime: the regions that were mapped, if the
+ * archive could not be mapped at its requested address, if it was relocated and
+ * validation failures that disabled sharing.
+ * <p>
+ * As of JDK 20, {@code -XX:ArchiveRelocationMode=1} is the default and the archive is
+ * relocated on every run by design: a relocation is only a problem if the archive
+ * {@linkplain #isAddressMappingFailed() could not be mapped} at the requested address.
+ *
+ * @author Stephane Nicoll
+ */
+public class CdsRuntimeReport {
+
+	private final List<MappedRegion> regions;
+
+	private final List<String> addressFailures;
+
+	private final List<String> relocations;
+
+	private final List<String> validationFailures;
+
+	CdsRuntimeReport(List<MappedRegion> regions, List<String> addressFailures, List<String> relocations,
+			List<String> validationFailures) {
+		this.regions = List.copyOf(regions);
+		this.addressFailures = List.copyOf(addressFailures);
+		this.relocations = List.copyOf(relocations);
+		this.validationFailures = List.copyOf(validationFailures);
+	}
+
+	/**
+	 * Return the regions of the archives that were mapped, including those that were
+	 * unmapped afterwards.
+	 * @return the regions
+	 */
+	public List<MappedRegion> getRegions() {
+		return this.regions;
+	}
+
+	/**
+	 * Return the messages describing why the archive could not be mapped at its requested
+	 * address.
+	 * @return the address failures
+	 */
+	public List<String> getAddressFailures() {
+		return this.addressFailures;
+	}
+
+	/**
+	 * Return the messages describing how the archive was relocated. Relocations of the
+	 * heap region are not included.
+	 * @return the relocation messages
+	 */
+	public List<String> getRelocations() {
+		return this.relocations;
+	}
+
+	/**
+	 * Return the messages describing why the archive could not be validated or mapped.
+	 * @return the validation failures
+	 */
+	public List<String> getValidationFailures() {
+		return this.validationFailures;
+	}
+
+	/**
+	 * Specify if at least one region of an archive is mapped.
+	 * @return {@code true} if sharing is in use
+	 */
+	public boolean isMapped() {
+		return this.regions.stream().anyMatch(MappedRegion::mapped);
+	}
+
+	/**
+	 * Specify if the archive could not be mapped at its requested address, which forces a
+	 * relocation that slows down startup.
+	 * @return {@code true} if the archive could not be mapped at its requested address
+	 */
+	public boolean isAddressMappingFailed() {
+		return !this.addressFailures.isEmpty();
+	}
+
+	/**
+	 * Specify if the archive was relocated, either because it could not be mapped at its
+	 * requested address or because {@code -XX:ArchiveRelocationMode} requires it.
+	 * @return {@code true} if the archive was relocated
+	 */
+	public boolean isRelocated() {
+		return isAddressMappingFailed() || !this.relocations.isEmpty();
+	}
+
+	/**
+	 * Return the total size of the regions that are mapped.
+	 * @return the mapped size in bytes
+	 */
+	public long getMappedSize() {
+		return this.regions.stream().filter(MappedRegion::mapped).mapToLong(MappedRegion::size).sum();
+	}
+
+	/**
+	 * A region of an archive that was mapped in memory.
+	 *
+	 * @param archive the archive, {@code static} or {@code dynamic}
+	 * @param index the index of the region
+	 * @param name the name of the region, such as {@code ReadWrite}
+	 * @param base the address of the start of the region
+	 * @param top the address of the end of the region
+	 * @param mapped whether the region is still mapped
+	 */
+	public record MappedRegion(String archive, int index, String name, long base, long top, boolean mapped) {
+
+		/**
+		 * Return the size of the region.
+		 * @return the size in bytes
+		 */
+		public long size() {
+			return this.top - this.base;
+		}
+
+	}
+
+}
@@ -0,0 +1,25 @@
+package org.springframework.experiment.cds.parser;
+
+import java.util.List;
+
+/**
+ * An event describing that a class has been skipped from the CDS archive.
+ *
+ * @param className the name of the class
+ * @param template the template of the reason why the class has been skipped, with
+ * {@code {}} placeholders in place of class names, numbers and quoted values, or one of
+ * the curated reasons of {@link CdsArchiveReport}
+ * @param parameters the parameters of the template
+ * @author Stephane Nicoll
+ */
+public record CdsSkipEvent(String className, String template, List<String> parameters) {
+
+	/**
+	 * Return the reason why the class has been skipped, as logged by the JVM.
+	 * @return the raw reason
+	 */
+	public String reason() {
+		return SkipReasonNormalizer.format(this.template, this.parameters);
+	}
+
+}
@@ -0,0 +1,30 @@
+package org.springframework.experiment.cds.parser;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * An event describing that a class has been loaded.
+ *
+ * @param className the name of the class
+ * @param location the location the class was loaded from, or {@code null} if it was
+ * loaded from the cache
+ * @param threadId the id of the thread that loaded the class, if the {@code tid}
+ * decorator was specified
+ * @param uptime the uptime of the JVM when the class was loaded, if the {@code uptime}
+ * decorator was specified
+ * @author Stephane Nicoll
+ */
+public record ClassLoadEvent(String className, @Nullable String location, @Nullable String threadId,
+		@Nullable Duration uptime) {
+
+	/**
+	 * Specify if the class was loaded from the cache.
+	 * @return {@code true} if the class was loaded from the cache
+	 */
+	public boolean isHit() {
+		return this.location == null;
+	}
+
+}
@@ -0,0 +1,147 @@
+package org.springframework.experiment.cds.parser;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estimated statistics of a class loading log, based on a random sample of its content.
+ * Each estimate is given with the margin of error of the configured confidence level.
+ *
+ * @author Stephane Nicoll
+ * @see ClassLoadingLogParser#sample(org.springframework.core.io.Resource,
+ * SamplingOptions)
+ */
+public class ClassLoadingEstimate {
+
+	private final long sampledBytes;
+
+	private final long totalBytes;
+
+	private final long sampledLoadCount;
+
+	private final double confidence;
+
+	private final Estimate loadCount;
+
+	private final Estimate hitRate;
+
+	private final Map<String, Estimate> categoryShares;
+
+	private final List<LocationEstimate> locations;
+
+	ClassLoadingEstimate(long sampledBytes, long totalBytes, long sampledLoadCount, double confidence,
+			Estimate loadCount, Estimate hitRate, Map<String, Estimate> categoryShares,
+			List<LocationEstimate> locations) {
+		this.sampledBytes = sampledBytes;
+		this.totalBytes = totalBytes;
+		this.sampledLoadCount = sampledLoadCount;
+		this.confidence = confidence;
+		this.loadCount = loadCount;
+		this.hitRate = hitRate;
+		this.categoryShares = categoryShares;
+		this.locations = locations;
+	}
+
+	/**
+	 * Return the number of bytes of the log that were read.
+	 * @return the sampled bytes
+	 */
+	public long getSampledBytes() {
+		return this.sampledBytes;
+	}
+
+	/**
+	 * Return the size of the log.
+	 * @return the total bytes
+	 */
+	public long getTotalBytes() {
+		return this.totalBytes;
+	}
+
+	/**
+	 * Specify if the whole log was read, in which case estimates are exact.
+	 * @return {@code true} if the log was read fully
+	 */
+	public boolean isComplete() {
+		return this.sampledBytes >= this.totalBytes;
+	}
+
+	/**
+	 * Return the number of class load events that were parsed.
+	 * @return the sampled load count
+	 */
+	public long getSampledLoadCount() {
+		return this.sampledLoadCount;
+	}
+
+	/**
+	 * Return the confidence level of the margins of error.
+	 * @return the confidence level
+	 */
+	public double getConfidence() {
+		return this.confidence;
+	}
+
+	/**
+	 * Return the estimated number of classes loaded.
+	 * @return the load count
+	 */
+	public Estimate getLoadCount() {
+		return this.loadCount;
+	}
+
+	/**
+	 * Return the estimated ratio of classes loaded from the cache.
+	 * @return the hit rate
+	 */
+	public Estimate getHitRate() {
+		return this.hitRate;
+	}
+
+	/**
+	 * Return the estimated share of loaded classes of each configured category.
+	 * @return the share of each category, by name
+	 * @see SamplingOptions#withCategory(String, java.util.function.Predicate)
+	 */
+	public Map<String, Estimate> getCategoryShares() {
+		return this.categoryShares;
+	}
+
+	/**
+	 * Return the locations from which the most classes were loaded from the classpath.
+	 * @param limit the maximum number of locations to return
+	 * @return the top locations, in descending order of estimated count
+	 */
+	public List<LocationEstimate> getTopLocations(int limit) {
+		return this.locations.subList(0, Math.min(limit, this.locations.size()));
+	}
+
+	/**
+	 * An estimated value.
+	 *
+	 * @param value the estimated value
+	 * @param margin the margin of error of the estimate
+	 */
+	public record Estimate(double value, double margin) {
+
+		public double lower() {
+			return this.value - this.margin;
+		}
+
+		public double upper() {
+			return this.value + this.margin;
+		}
+
+	}
+
+	/**
+	 * The estimated number of classes loaded from a location.
+	 *
+	 * @param location the location
+	 * @param count the estimated number of classes
+	 */
+	public record LocationEstimate(String location, Estimate count) {
+
+	}
+
+}
@@ -1,26 +1,24 @@
 package org.springframework.experiment.cds.parser;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Scanner;
+import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.io.Resource;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.util.StringUtils;
+import org.springframework.lang.Nullable;
 
 /**
- * Simple log parser that expects only tags to be specified as decorators of the JVM logs,
- * something like: <pre>
+ * Simple log parser that expects at least the tags to be specified as decorators of the
+ * JVM logs, something like: <pre>
  * -Xlog:class+load:file=cds.log:tags
- * </pre>
+ * </pre> The thread id and uptime of each class are captured if the log was written with
+ * the expected {@linkplain LogDecorators decorators}, the default decorators of the JVM
+ * ({@code uptime,level,tags}) unless specified otherwise.
  *
  * @author Stephane Nicoll
  */
@@ -30,31 +28,72 @@ public class ClassLoadingLogParser {
 
 	private final Path workingDir;
 
+	private final LogDecorators decorators;
+
 	public ClassLoadingLogParser(Path workingDir) {
+		this(workingDir, LogDecorators.DEFAULT);
+	}
+
+	/**
+	 * Create an instance for logs written with the specified decorators.
+	 * @param workingDir the working directory of the application
+	 * @param decorators the decorators of the logs
+	 */
+	public ClassLoadingLogParser(Path workingDir, LogDecorators decorators) {
 		this.workingDir = workingDir;
+		this.decorators = decorators;
 	}
 
 	public ClassLoadingReport parser(Resource resource) throws IOException {
-		if (!resource.exists()) {
-			throw new IllegalAccessError("Resource " + resource + " does not exist");
+		try (Stream<ClassLoadEvent> events = events(resource)) {
+			return events.collect(ClassLoadingReport.collector());
 		}
+	}
+
+	/**
+	 * Parse the specified resource and invoke the specified {@code consumer} for each
+	 * class that has been loaded, in the order of the log.
+	 * @param resource the resource to parse
+	 * @param consumer the consumer of class load events
+	 * @throws IOException if the resource cannot be read
+	 */
+	public void parse(Resource resource, Consumer<ClassLoadEvent> consumer) throws IOException {
+		try (Stream<ClassLoadEvent> events = events(resource)) {
+			events.forEach(consumer);
+		}
+	}
+
+	/**
+	 * Return a lazy stream of the classes that have been loaded, in the order of the log.
+	 * Lines are only read and parsed as the stream is consumed, and the stream must be
+	 * closed to release the resource. Use {@link ClassLoadingReport#collector()} to
+	 * create a report out of the stream.
+	 * @param resource the resource to parse
+	 * @return a stream of class load events
+	 * @throws IOException if the resource cannot be opened
+	 */
+	public Stream<ClassLoadEvent> events(Resource resource) throws IOException {
 		LogLineParser lineParser = new LogLineParser();
-		process(resource, lineParser);
-		return lineParser.toReport();
+		return LogLines.of(resource).map(lineParser::parse).filter(Objects::nonNull);
 	}
 
-	private void process(Resource resource, Consumer<String> line) throws IOException {
-		try (Scanner scanner = new Scanner(resource.getInputStream(), StandardCharsets.UTF_8)) {
-			while (scanner.hasNextLine()) {
-				String nextLine = scanner.nextLine();
-				if (StringUtils.hasText(nextLine)) {
-					line.accept(nextLine);
-				}
-			}
+	/**
+	 * Estimate the statistics of the specified resource by reading random regions of it
+	 * until the hit rate is known with the precision of the specified options, or the
+	 * whole resource has been read.
+	 * @param resource the resource to sample, must be a file
+	 * @param options the sampling options
+	 * @return the estimated statistics
+	 * @throws IOException if the resource cannot be read
+	 */
+	public ClassLoadingEstimate sample(Resource resource, SamplingOptions options) throws IOException {
+		if (!resource.isFile()) {
+			throw new IllegalArgumentException("Resource " + resource + " must be a file to be sampled");
 		}
+		return new ClassLoadingSampler(options, new LogLineParser()::parse).sample(resource.getFile().toPath());
 	}
 
-	private class LogLineParser implements Consumer<String> {
+	private class LogLineParser {
 
 		private static final String SOURCE_TAG = "source: ";
 
@@ -62,31 +101,29 @@ public class ClassLoadingLogParser {
 
 		private static final String FILE_URI_PREFIX = "file:";
 
-		private final List<String> hits = new ArrayList<>();
-
-		private final MultiValueMap<String, String> misses = new LinkedMultiValueMap<>();
-
-		@Override
-		public void accept(String content) {
-			LogLine logLine = LogLine.parse(content);
+		@Nullable
+		ClassLoadEvent parse(String content) {
+			LogLine logLine = LogLine.parse(content, ClassLoadingLogParser.this.decorators);
 			if (!logLine.containTags("class", "load")) {
-				return;
+				return null;
 			}
 			String message = logLine.message();
 			int sourceIndex = message.indexOf(SOURCE_TAG);
 			if (sourceIndex == -1) {
 				logger.debug("No source found in " + message);
-				return;
+				return null;
 			}
 			String source = message.substring(sourceIndex + SOURCE_TAG.length()).trim();
 			String className = message.substring(0, sourceIndex).trim();
-			if (source.startsWith(HIT_SOURCE)) {
-				hits.add(className);
-			}
-			else if (source.startsWith(FILE_URI_PREFIX)) {
+			String location = (source.startsWith(HIT_SOURCE)) ? null : resolveLocation(logLine, source, className);
+			return new ClassLoadEvent(className, location, logLine.threadId(), logLine.uptime());
+		}
+
+		private String resolveLocation(LogLine logLine, String source, String className) {
+			if (source.startsWith(FILE_URI_PREFIX)) {
 				Path path = Path.of(source.substring(FILE_URI_PREFIX.length()));
 				Path pathToUse = path.startsWith(workingDir) ? workingDir.relativize(path) : path;
-				misses.add(pathToUse.toString(), className);
+				return pathToUse.toString();
 			}
 			else if (source.startsWith("jar:nested:")) {
 				int start = source.indexOf("!");
@@ -94,32 +131,28 @@ public class ClassLoadingLogParser {
 				if (start == -1 || end == -1) {
 					throw new IllegalArgumentException("Nested jar not found in " + source);
 				}
-				misses.add(source.substring(start + 1, end), className);
+				return source.substring(start + 1, end);
 			}
 			else if (source.equals(ClassLoadingReport.CLASS_DEFINER)
 					|| source.equals(ClassLoadingReport.DYNAMIC_GENERATED_LAMBDA)
 					|| source.equals(ClassLoadingReport.DYNAMIC_PROXY)) {
-				misses.add(source, className);
+				return source;
 			}
 			else if (className.startsWith(source)) { // Lambda
-				misses.add(source, className);
+				return source;
 			}
 			else if (source.startsWith("jrt:/")) { // Java Runtime Image
-				misses.add(source, className);
+				return source;
 			}
 			else if (source.startsWith("instance of ")) {
-				misses.add(source.substring("instance of ".length()), className);
+				return source.substring("instance of ".length());
 			}
 			else {
 				logger.warn("Fallback on default source for " + logLine);
-				misses.add(source, className);
+				return source;
 			}
 		}
 
-		public ClassLoadingReport toReport() {
-			return new ClassLoadingReport(this.hits, this.misses);
-		}
-
 	}
 
 }
@@ -1,7 +1,13 @@
 package org.springframework.experiment.cds.parser;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
 
+import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
@@ -32,14 +38,35 @@ public class ClassLoadingReport {
 
 	private final MultiValueMap<String, String> misses;
 
+	private final Map<String, ThreadActivity> threads;
+
+	@Nullable
+	private final String mainThreadId;
+
 	private final long total;
 
 	ClassLoadingReport(List<String> hits, MultiValueMap<String, String> misses) {
+		this(hits, misses, Collections.emptyMap(), null);
+	}
+
+	ClassLoadingReport(List<String> hits, MultiValueMap<String, String> misses, Map<String, ThreadActivity> threads,
+			@Nullable String mainThreadId) {
 		this.hits = List.copyOf(hits);
 		this.misses = CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>(misses));
+		this.threads = Collections.unmodifiableMap(new LinkedHashMap<>(threads));
+		this.mainThreadId = mainThreadId;
 		this.total = hits.size() + misses.values().stream().map(List::size).reduce(0, Integer::sum);
 	}
 
+	/**
+	 * Return a {@link Collector} that creates a report out of a stream of class load
+	 * events. The collector can be used with parallel streams.
+	 * @return a collector of class load events
+	 */
+	public static Collector<ClassLoadEvent, ?, ClassLoadingReport> collector() {
+		return Collector.of(Builder::new, Builder::add, Builder::merge, Builder::build);
+	}
+
 	/**
 	 * Return the class names that were loaded from the cache.
 	 * @return the hits
@@ -56,6 +83,25 @@ public class ClassLoadingReport {
 		return this.misses;
 	}
 
+	/**
+	 * Return the class loading activity of each thread, mapped by thread id. Empty if the
+	 * {@code tid} decorator was not specified.
+	 * @return a map from thread id to its class loading activity
+	 */
+	public Map<String, ThreadActivity> getThreads() {
+		return this.threads;
+	}
+
+	/**
+	 * Return the class loading activity of the main thread, that is the thread that
+	 * loaded the first class. Only available if the {@code tid} decorator was specified.
+	 * @return the activity of the main thread or {@code null}
+	 */
+	@Nullable
+	public ThreadActivity getMainThread() {
+		return (this.mainThreadId != null) ? this.threads.get(this.mainThreadId) : null;
+	}
+
 	/**
 	 * Return the total number of classes that were loaded.
 	 * @return the classes loaded count
@@ -80,4 +126,54 @@ public class ClassLoadingReport {
 		return 1 - getHitRate();
 	}
 
+	private static final class Builder {
+
+		private final List<String> hits = new ArrayList<>();
+
+		private final MultiValueMap<String, String> misses = new LinkedMultiValueMap<>();
+
+		private final Map<String, ThreadActivity.Builder> threads = new LinkedHashMap<>();
+
+		@Nullable
+		private String mainThreadId;
+
+		void add(ClassLoadEvent event) {
+			if (this.hits.isEmpty() && this.misses.isEmpty()) {
+				this.mainThreadId = event.threadId();
+			}
+			ThreadActivity.Builder thread = (event.threadId() != null)
+					? this.threads.computeIfAbsent(event.threadId(), ThreadActivity.Builder::new) : null;
+			if (event.isHit()) {
+				this.hits.add(event.className());
+				if (thread != null) {
+					thread.hit(event.uptime());
+				}
+			}
+			else {
+				this.misses.add(event.location(), event.className());
+				if (thread != null) {
+					thread.miss(event.location(), event.className(), event.uptime());
+				}
+			}
+		}
+
+		Builder merge(Builder other) {
+			if (this.hits.isEmpty() && this.misses.isEmpty()) {
+				this.mainThreadId = other.mainThreadId;
+			}
+			this.hits.addAll(other.hits);
+			other.misses.forEach((location, classNames) -> this.misses.addAll(location, classNames));
+			other.threads
+				.forEach((threadId, thread) -> this.threads.merge(threadId, thread, ThreadActivity.Builder::merge));
+			return this;
+		}
+
+		ClassLoadingReport build() {
+			Map<String, ThreadActivity> threadActivities = new LinkedHashMap<>();
+			this.threads.forEach((threadId, builder) -> threadActivities.put(threadId, builder.build()));
+			return new ClassLoadingReport(this.hits, this.misses, threadActivities, this.mainThreadId);
+		}
+
+	}
+
 }
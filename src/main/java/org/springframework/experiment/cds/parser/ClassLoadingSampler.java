@@ -0,0 +1,283 @@
+package org.springframework.experiment.cds.parser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.experiment.cds.parser.ClassLoadingEstimate.Estimate;
+import org.springframework.experiment.cds.parser.ClassLoadingEstimate.LocationEstimate;
+import org.springframework.util.StringUtils;
+
+/**
+ * Estimate the statistics of a class loading log by reading a random subset of it.
+ * <p>
+ * The log is split in slots of a fixed size that are read in a random order, without
+ * replacement. A line belongs to the slot that contains its first byte, so that every
+ * line belongs to exactly one slot regardless of its length. Each slot is a cluster of
+ * the sample: ratios such as the hit rate use the ratio estimator of cluster sampling,
+ * and totals are scaled by the number of slots. Margins of error include the finite
+ * population correction, so that they are zero once every slot has been read.
+ *
+ * @author Stephane Nicoll
+ */
+class ClassLoadingSampler {
+
+	private final SamplingOptions options;
+
+	private final Function<String, ClassLoadEvent> lineParser;
+
+	ClassLoadingSampler(SamplingOptions options, Function<String, ClassLoadEvent> lineParser) {
+		this.options = options;
+		this.lineParser = lineParser;
+	}
+
+	ClassLoadingEstimate sample(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long size = channel.size();
+			int slotCount = (int) Math.max(1, (size + this.options.slotSize() - 1) / this.options.slotSize());
+			Statistics statistics = new Statistics(slotCount, this.options.categories().size(),
+					zScore(this.options.confidence()));
+			int[] slots = new int[slotCount];
+			for (int i = 0; i < slotCount; i++) {
+				slots[i] = i;
+			}
+			Random random = new Random(this.options.seed());
+			long sampledBytes = 0;
+			for (int n = 0; n < slotCount; n++) {
+				int pick = n + random.nextInt(slotCount - n);
+				int slot = slots[pick];
+				slots[pick] = slots[n];
+				long start = (long) slot * this.options.slotSize();
+				long end = Math.min(size, start + this.options.slotSize());
+				sampledBytes += end - start;
+				statistics.add(parseSlot(channel, start, end));
+				if (n + 1 >= this.options.minimumSlots() && statistics.hitRate().margin() <= this.options.precision()) {
+					break;
+				}
+			}
+			return statistics.toEstimate(sampledBytes, size, this.options);
+		}
+	}
+
+	private Cluster parseSlot(FileChannel channel, long start, long end) throws IOException {
+		Cluster cluster = new Cluster(this.options.categories().size());
+		InputStream in = new BufferedInputStream(Channels.newInputStream(channel.position(Math.max(0, start - 1))));
+		long position = start;
+		if (start > 0) {
+			// Skip the end of the line that started in the previous slot
+			int b = in.read();
+			while (b != '\n' && b != -1) {
+				position++;
+				b = in.read();
+			}
+		}
+		ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+		while (position < end) {
+			int b = in.read();
+			while (b != '\n' && b != -1) {
+				line.write(b);
+				b = in.read();
+			}
+			position += line.size() + 1;
+			String content = line.toString(StandardCharsets.UTF_8);
+			if (StringUtils.hasText(content)) {
+				ClassLoadEvent event = this.lineParser.apply(content);
+				if (event != null) {
+					cluster.add(event, this.options.categories().values());
+				}
+			}
+			line.reset();
+			if (b == -1) {
+				break;
+			}
+		}
+		return cluster;
+	}
+
+	/**
+	 * Return the two-sided z-score of the specified confidence level, using the rational
+	 * approximation of the inverse normal distribution of Abramowitz and Stegun
+	 * (26.2.23).
+	 */
+	static double zScore(double confidence) {
+		double p = (1 - confidence) / 2;
+		double t = Math.sqrt(-2 * Math.log(p));
+		return t - (2.515517 + 0.802853 * t + 0.010328 * t * t)
+				/ (1 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+	}
+
+	/**
+	 * The class load events of a single slot.
+	 */
+	private static final class Cluster {
+
+		private long loads;
+
+		private long hits;
+
+		private final long[] categories;
+
+		private final Map<String, Long> misses = new HashMap<>();
+
+		Cluster(int categoryCount) {
+			this.categories = new long[categoryCount];
+		}
+
+		void add(ClassLoadEvent event, Iterable<Predicate<String>> categoryFilters) {
+			this.loads++;
+			if (event.isHit()) {
+				this.hits++;
+			}
+			else {
+				this.misses.merge(event.location(), 1L, Long::sum);
+			}
+			int i = 0;
+			for (Predicate<String> filter : categoryFilters) {
+				if (filter.test(event.className())) {
+					this.categories[i]++;
+				}
+				i++;
+			}
+		}
+
+	}
+
+	/**
+	 * Running sums of the clusters, from which estimates are derived in constant time.
+	 */
+	private static final class Statistics {
+
+		private final int slotCount;
+
+		private final double z;
+
+		private int n;
+
+		private double sumLoads;
+
+		private double sumLoadsSquared;
+
+		private final RatioSums hits = new RatioSums();
+
+		private final RatioSums[] categories;
+
+		private final Map<String, TotalSums> locations = new HashMap<>();
+
+		Statistics(int slotCount, int categoryCount, double z) {
+			this.slotCount = slotCount;
+			this.z = z;
+			this.categories = new RatioSums[categoryCount];
+			for (int i = 0; i < categoryCount; i++) {
+				this.categories[i] = new RatioSums();
+			}
+		}
+
+		void add(Cluster cluster) {
+			this.n++;
+			this.sumLoads += cluster.loads;
+			this.sumLoadsSquared += (double) cluster.loads * cluster.loads;
+			this.hits.add(cluster.hits, cluster.loads);
+			for (int i = 0; i < this.categories.length; i++) {
+				this.categories[i].add(cluster.categories[i], cluster.loads);
+			}
+			cluster.misses.forEach(
+					(location, count) -> this.locations.computeIfAbsent(location, (key) -> new TotalSums()).add(count));
+		}
+
+		Estimate hitRate() {
+			return ratio(this.hits);
+		}
+
+		ClassLoadingEstimate toEstimate(long sampledBytes, long totalBytes, SamplingOptions options) {
+			Map<String, Estimate> categoryShares = new LinkedHashMap<>();
+			int i = 0;
+			for (String name : options.categories().keySet()) {
+				categoryShares.put(name, ratio(this.categories[i++]));
+			}
+			List<LocationEstimate> locations = new ArrayList<>();
+			this.locations.forEach((location, sums) -> locations
+				.add(new LocationEstimate(location, total(sums.sum, sums.sumSquared))));
+			locations
+				.sort(Comparator.comparingDouble((LocationEstimate estimate) -> estimate.count().value()).reversed());
+			return new ClassLoadingEstimate(sampledBytes, totalBytes, (long) this.sumLoads, options.confidence(),
+					total(this.sumLoads, this.sumLoadsSquared), hitRate(), categoryShares, locations);
+		}
+
+		private Estimate ratio(RatioSums sums) {
+			if (this.sumLoads == 0) {
+				return new Estimate(0, (this.n == this.slotCount) ? 0 : 1);
+			}
+			double ratio = sums.sum / this.sumLoads;
+			if (this.n < 2) {
+				return new Estimate(ratio, (this.n == this.slotCount) ? 0 : 1);
+			}
+			double meanLoads = this.sumLoads / this.n;
+			double residuals = Math.max(0,
+					sums.sumSquared - 2 * ratio * sums.sumProducts + ratio * ratio * this.sumLoadsSquared);
+			double variance = finitePopulationCorrection() * residuals
+					/ ((this.n - 1) * this.n * meanLoads * meanLoads);
+			return new Estimate(ratio, this.z * Math.sqrt(variance));
+		}
+
+		private Estimate total(double sum, double sumSquared) {
+			double total = sum * this.slotCount / this.n;
+			if (this.n < 2) {
+				return new Estimate(total, (this.n == this.slotCount) ? 0 : total);
+			}
+			double sampleVariance = Math.max(0, (sumSquared - sum * sum / this.n) / (this.n - 1));
+			double variance = (double) this.slotCount * this.slotCount * finitePopulationCorrection() * sampleVariance
+					/ this.n;
+			return new Estimate(total, this.z * Math.sqrt(variance));
+		}
+
+		private double finitePopulationCorrection() {
+			return 1 - (double) this.n / this.slotCount;
+		}
+
+	}
+
+	private static final class RatioSums {
+
+		private double sum;
+
+		private double sumSquared;
+
+		private double sumProducts;
+
+		void add(long value, long loads) {
+			this.sum += value;
+			this.sumSquared += (double) value * value;
+			this.sumProducts += (double) value * loads;
+		}
+
+	}
+
+	private static final class TotalSums {
+
+		private double sum;
+
+		private double sumSquared;
+
+		void add(long value) {
+			this.sum += value;
+			this.sumSquared += (double) value * value;
+		}
+
+	}
+
+}
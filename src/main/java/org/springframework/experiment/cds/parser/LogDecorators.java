@@ -0,0 +1,132 @@
+package org.springframework.experiment.cds.parser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * The decorators of a JVM log, as specified by the last part of the {@code -Xlog} option,
+ * such as {@code uptime,tid,tags}.
+ * <p>
+ * The JVM writes decorators in a fixed order, regardless of the order in which they are
+ * specified, and some of them cannot be told apart from their value: a {@code pid} looks
+ * like a {@code tid}, and a {@code timemillis} like an {@code uptimemillis}. The
+ * decorators of a line are therefore matched by position against the decorators of the
+ * log. A line that does not have the expected number of decorators is parsed without its
+ * uptime and thread id. The {@code level} decorator is recognized from its value and can
+ * be omitted.
+ *
+ * @author Stephane Nicoll
+ */
+public final class LogDecorators {
+
+	private static final List<String> ORDER = List.of("time", "utctime", "uptime", "timemillis", "uptimemillis",
+			"timenanos", "uptimenanos", "hostname", "pid", "tid", "level", "tags");
+
+	private static final Map<String, String> ALIASES = Map.ofEntries(Map.entry("t", "time"),
+			Map.entry("utc", "utctime"), Map.entry("u", "uptime"), Map.entry("tm", "timemillis"),
+			Map.entry("um", "uptimemillis"), Map.entry("tn", "timenanos"), Map.entry("un", "uptimenanos"),
+			Map.entry("hn", "hostname"), Map.entry("p", "pid"), Map.entry("ti", "tid"), Map.entry("l", "level"),
+			Map.entry("tg", "tags"));
+
+	private static final List<String> LEVELS = List.of("trace", "debug", "info", "warning", "error");
+
+	/**
+	 * The decorators that the JVM uses by default: {@code uptime,level,tags}.
+	 */
+	public static final LogDecorators DEFAULT = of("uptime,level,tags");
+
+	private final List<String> decorators;
+
+	private LogDecorators(List<String> decorators) {
+		this.decorators = decorators;
+	}
+
+	/**
+	 * Create an instance for the specified decorators, using the syntax of the
+	 * {@code -Xlog} option.
+	 * @param decorators a comma-separated list of decorators, such as
+	 * {@code uptime,tid,tags}, or {@code none}
+	 * @return the log decorators
+	 * @throws IllegalArgumentException if a decorator is unknown
+	 */
+	public static LogDecorators of(String decorators) {
+		List<String> names = new ArrayList<>();
+		if (!decorators.trim().equals("none")) {
+			for (String decorator : decorators.split(",")) {
+				String name = decorator.trim().toLowerCase(Locale.ENGLISH);
+				name = ALIASES.getOrDefault(name, name);
+				if (!ORDER.contains(name)) {
+					throw new IllegalArgumentException("Unknown log decorator '%s'".formatted(decorator.trim()));
+				}
+				names.add(name);
+			}
+		}
+		// Level and tags are not part of the decorators in brackets that are matched
+		List<String> ordered = ORDER.stream()
+			.filter((name) -> names.contains(name) && !name.equals("level") && !name.equals("tags"))
+			.toList();
+		return new LogDecorators(ordered);
+	}
+
+	/**
+	 * Return the thread id of the specified decorator values.
+	 * @param values the values of the decorators of a line, without the tags
+	 * @return the thread id, or {@code null} if the {@code tid} decorator is not
+	 * available
+	 */
+	@Nullable
+	String getThreadId(List<String> values) {
+		String threadId = getValue(values, "tid");
+		return (threadId != null && !threadId.isEmpty() && threadId.chars().allMatch(Character::isDigit)) ? threadId
+				: null;
+	}
+
+	/**
+	 * Return the uptime of the specified decorator values.
+	 * @param values the values of the decorators of a line, without the tags
+	 * @return the uptime, or {@code null} if no uptime decorator is available
+	 */
+	@Nullable
+	Duration getUptime(List<String> values) {
+		try {
+			String uptime = getValue(values, "uptime");
+			if (uptime != null && uptime.endsWith("s")) {
+				double seconds = Double.parseDouble(uptime.substring(0, uptime.length() - 1));
+				return Duration.ofNanos((long) (seconds * 1_000_000_000L));
+			}
+			String uptimeMillis = getValue(values, "uptimemillis");
+			if (uptimeMillis != null && uptimeMillis.endsWith("ms")) {
+				return Duration.ofMillis(Long.parseLong(uptimeMillis.substring(0, uptimeMillis.length() - 2)));
+			}
+			String uptimeNanos = getValue(values, "uptimenanos");
+			if (uptimeNanos != null && uptimeNanos.endsWith("ns")) {
+				return Duration.ofNanos(Long.parseLong(uptimeNanos.substring(0, uptimeNanos.length() - 2)));
+			}
+		}
+		catch (NumberFormatException ex) {
+			// Line does not match the decorators of the log
+		}
+		return null;
+	}
+
+	@Nullable
+	private String getValue(List<String> values, String decorator) {
+		int index = this.decorators.indexOf(decorator);
+		if (index == -1) {
+			return null;
+		}
+		List<String> candidates = values.stream().filter((value) -> !LEVELS.contains(value)).toList();
+		return (candidates.size() == this.decorators.size()) ? candidates.get(index) : null;
+	}
+
+	@Override
+	public String toString() {
+		return String.join(",", this.decorators);
+	}
+
+}
@@ -1,13 +1,71 @@
 package org.springframework.experiment.cds.parser;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.lang.Nullable;
+
 /**
- * A line of JVM log.
+ * A line of JVM log. Decorators other than the tags are only decoded when the
+ * {@linkplain #threadId() thread id} or the {@linkplain #uptime() uptime} is requested.
  *
  * @author Stephane Nicoll
  */
-record LogLine(List<String> tags, String message) {
+final class LogLine {
+
+	private final List<String> tags;
+
+	private final String message;
+
+	private final String decorations;
+
+	private final LogDecorators decorators;
+
+	@Nullable
+	private List<String> decoratorValues;
+
+	private LogLine(List<String> tags, String message, String decorations, LogDecorators decorators) {
+		this.tags = tags;
+		this.message = message;
+		this.decorations = decorations;
+		this.decorators = decorators;
+	}
+
+	/**
+	 * Return the tags of the line.
+	 * @return the tags
+	 */
+	List<String> tags() {
+		return this.tags;
+	}
+
+	/**
+	 * Return the message of the line.
+	 * @return the message
+	 */
+	String message() {
+		return this.message;
+	}
+
+	/**
+	 * Return the thread id of the line.
+	 * @return the thread id, or {@code null} if the {@code tid} decorator is not
+	 * available
+	 */
+	@Nullable
+	String threadId() {
+		return this.decorators.getThreadId(getDecoratorValues());
+	}
+
+	/**
+	 * Return the uptime of the line.
+	 * @return the uptime, or {@code null} if no uptime decorator is available
+	 */
+	@Nullable
+	Duration uptime() {
+		return this.decorators.getUptime(getDecoratorValues());
+	}
 
 	/**
 	 * Specify if the log matches the specified tags. All specified tags must match.
@@ -23,12 +81,31 @@ record LogLine(List<String> tags, String message) {
 		return true;
 	}
 
+	private List<String> getDecoratorValues() {
+		if (this.decoratorValues == null) {
+			this.decoratorValues = parseDecorators(this.decorations);
+		}
+		return this.decoratorValues;
+	}
+
 	/**
-	 * Parse a line of log.
+	 * Parse a line of log written with the {@linkplain LogDecorators#DEFAULT default
+	 * decorators}.
 	 * @param line the line
-	 * @return a {@code LogLin} instance.
+	 * @return a {@code LogLine} instance.
 	 */
 	static LogLine parse(String line) {
+		return parse(line, LogDecorators.DEFAULT);
+	}
+
+	/**
+	 * Parse a line of log written with the specified decorators. If the {@code tid} and
+	 * an uptime decorator are present, they can be retrieved as well.
+	 * @param line the line
+	 * @param decorators the decorators of the log
+	 * @return a {@code LogLine} instance.
+	 */
+	static LogLine parse(String line, LogDecorators decorators) {
 		int tagStart = line.lastIndexOf("[");
 		int tagEnd = line.indexOf("]", tagStart);
 		if (tagStart == -1 || tagEnd == -1) {
@@ -36,7 +113,21 @@ record LogLine(List<String> tags, String message) {
 		}
 		String[] tags = line.substring(tagStart + 1, tagEnd).split(",");
 		String msg = line.substring(tagEnd + 1).trim();
-		return new LogLine(List.of(tags), msg);
+		return new LogLine(List.of(tags), msg, line.substring(0, tagStart), decorators);
+	}
+
+	private static List<String> parseDecorators(String prefix) {
+		List<String> decorators = new ArrayList<>();
+		int start = prefix.indexOf('[');
+		while (start != -1) {
+			int end = prefix.indexOf(']', start);
+			if (end == -1) {
+				break;
+			}
+			decorators.add(prefix.substring(start + 1, end).trim());
+			start = prefix.indexOf('[', end);
+		}
+		return decorators;
 	}
 
 }
@@ -0,0 +1,43 @@
+package org.springframework.experiment.cds.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+/**
+ * Read the lines of a JVM log lazily.
+ *
+ * @author Stephane Nicoll
+ */
+abstract class LogLines {
+
+	/**
+	 * Return a lazy stream of the non-blank lines of the specified resource. The stream
+	 * must be closed to release the underlying resource.
+	 * @param resource the resource to read
+	 * @return the lines of the resource
+	 * @throws IOException if the resource cannot be opened
+	 */
+	static Stream<String> of(Resource resource) throws IOException {
+		if (!resource.exists()) {
+			throw new IllegalAccessError("Resource " + resource + " does not exist");
+		}
+		BufferedReader reader = new BufferedReader(
+				new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8));
+		return reader.lines().filter(StringUtils::hasText).onClose(() -> {
+			try {
+				reader.close();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
+
+}
@@ -0,0 +1,103 @@
+package org.springframework.experiment.cds.parser;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Options to
+ * {@linkplain ClassLoadingLogParser#sample(org.springframework.core.io.Resource, SamplingOptions)
+ * sample} a class loading log rather than parsing it fully.
+ *
+ * @param precision the margin of error of the hit rate at which sampling stops, such as
+ * {@code 0.01} for one percentage point
+ * @param confidence the confidence level of the margins of error, such as {@code 0.95}
+ * @param slotSize the size in bytes of the contiguous regions of the log that are read
+ * @param minimumSlots the minimum number of regions to read before the precision is
+ * checked
+ * @param seed the seed of the random generator that picks the regions to read
+ * @param categories the categories of classes whose share of loads should be estimated,
+ * by name
+ * @author Stephane Nicoll
+ */
+public record SamplingOptions(double precision, double confidence, int slotSize, int minimumSlots, long seed,
+		Map<String, Predicate<String>> categories) {
+
+	private static final int DEFAULT_SLOT_SIZE = 64 * 1024;
+
+	private static final int DEFAULT_MINIMUM_SLOTS = 30;
+
+	public SamplingOptions {
+		if (precision <= 0 || precision >= 1) {
+			throw new IllegalArgumentException("Precision must be between 0 and 1, got " + precision);
+		}
+		if (confidence <= 0 || confidence >= 1) {
+			throw new IllegalArgumentException("Confidence must be between 0 and 1, got " + confidence);
+		}
+		if (slotSize <= 0) {
+			throw new IllegalArgumentException("Slot size must be positive, got " + slotSize);
+		}
+		if (minimumSlots <= 0) {
+			throw new IllegalArgumentException("Minimum number of slots must be positive, got " + minimumSlots);
+		}
+		categories = Collections.unmodifiableMap(new LinkedHashMap<>(categories));
+	}
+
+	/**
+	 * Create options that stop sampling once the hit rate is known with the specified
+	 * precision, at a 95% confidence level.
+	 * @param precision the margin of error of the hit rate
+	 * @return the sampling options
+	 */
+	public static SamplingOptions of(double precision) {
+		return new SamplingOptions(precision, 0.95, DEFAULT_SLOT_SIZE, DEFAULT_MINIMUM_SLOTS, System.nanoTime(),
+				Map.of());
+	}
+
+	/**
+	 * Return a copy of these options with the specified confidence level.
+	 * @param confidence the confidence level
+	 * @return new sampling options
+	 */
+	public SamplingOptions withConfidence(double confidence) {
+		return new SamplingOptions(this.precision, confidence, this.slotSize, this.minimumSlots, this.seed,
+				this.categories);
+	}
+
+	/**
+	 * Return a copy of these options with the specified slot size and minimum number of
+	 * slots.
+	 * @param slotSize the size in bytes of a region of the log
+	 * @param minimumSlots the minimum number of regions to read
+	 * @return new sampling options
+	 */
+	public SamplingOptions withSlots(int slotSize, int minimumSlots) {
+		return new SamplingOptions(this.precision, this.confidence, slotSize, minimumSlots, this.seed, this.categories);
+	}
+
+	/**
+	 * Return a copy of these options with the specified random seed.
+	 * @param seed the seed
+	 * @return new sampling options
+	 */
+	public SamplingOptions withSeed(long seed) {
+		return new SamplingOptions(this.precision, this.confidence, this.slotSize, this.minimumSlots, seed,
+				this.categories);
+	}
+
+	/**
+	 * Return a copy of these options that also estimate the share of the specified
+	 * category of classes.
+	 * @param name the name of the category
+	 * @param classNameFilter the filter of the class names of the category
+	 * @return new sampling options
+	 */
+	public SamplingOptions withCategory(String name, Predicate<String> classNameFilter) {
+		Map<String, Predicate<String>> categories = new LinkedHashMap<>(this.categories);
+		categories.put(name, classNameFilter);
+		return new SamplingOptions(this.precision, this.confidence, this.slotSize, this.minimumSlots, this.seed,
+				categories);
+	}
+
+}
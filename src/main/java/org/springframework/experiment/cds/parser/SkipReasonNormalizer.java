@@ -0,0 +1,97 @@
+package org.springframework.experiment.cds.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extract a stable template out of the reason a class was skipped from the archive, by
+ * replacing the parts that vary, such as class names, numbers, or quoted values, by a
+ * {@value #PLACEHOLDER} placeholder. The reasons that have a curated key in
+ * {@link CdsArchiveReport}, such as {@link CdsArchiveReport#INTERFACE_EXCLUDED}, use that
+ * key as their template.
+ *
+ * @author Stephane Nicoll
+ */
+abstract class SkipReasonNormalizer {
+
+	/**
+	 * The placeholder for a parameter of a template.
+	 */
+	static final String PLACEHOLDER = "{}";
+
+	// Numbers must not be part of an identifier, such as Class2 or Outer$1
+	private static final Pattern PARAMETER = Pattern
+		.compile(String.join("|", "'[^']*'", "\"[^\"]*\"", "(?<![\\w$])0x[0-9a-fA-F]+(?![\\w$])",
+				"[A-Za-z_$][\\w$]*(?:[./][A-Za-z_$][\\w$]*)+", "(?<![\\w$])\\d+(?:\\.\\d+)*(?![\\w$])"));
+
+	private static final Map<String, Pattern> CURATED_REASONS = Map.of(CdsArchiveReport.INTERFACE_EXCLUDED,
+			Pattern.compile("interface (\\S+) is excluded"), CdsArchiveReport.SUPER_CLASS_EXCLUDED,
+			Pattern.compile("super class (\\S+) is excluded"));
+
+	private static final Map<String, String> CURATED_TEMPLATES = Map.of(CdsArchiveReport.INTERFACE_EXCLUDED,
+			"interface {} is excluded", CdsArchiveReport.SUPER_CLASS_EXCLUDED, "super class {} is excluded");
+
+	/**
+	 * Normalize the specified reason.
+	 * @param reason the reason, as logged by the JVM
+	 * @return the template of the reason and its parameters
+	 */
+	static NormalizedReason normalize(String reason) {
+		for (Map.Entry<String, Pattern> curated : CURATED_REASONS.entrySet()) {
+			Matcher matcher = curated.getValue().matcher(reason);
+			if (matcher.matches()) {
+				return new NormalizedReason(curated.getKey(), List.of(matcher.group(1)));
+			}
+		}
+		Matcher matcher = PARAMETER.matcher(reason);
+		if (!matcher.find()) {
+			return new NormalizedReason(reason, List.of());
+		}
+		StringBuilder template = new StringBuilder(reason.length());
+		List<String> parameters = new ArrayList<>();
+		int start = 0;
+		do {
+			template.append(reason, start, matcher.start()).append(PLACEHOLDER);
+			parameters.add(matcher.group());
+			start = matcher.end();
+		}
+		while (matcher.find());
+		template.append(reason, start, reason.length());
+		return new NormalizedReason(template.toString(), List.copyOf(parameters));
+	}
+
+	/**
+	 * Format the specified template with the specified parameters.
+	 * @param template the template
+	 * @param parameters the parameters
+	 * @return the original reason
+	 */
+	static String format(String template, List<String> parameters) {
+		if (parameters.isEmpty()) {
+			return template;
+		}
+		String pattern = CURATED_TEMPLATES.getOrDefault(template, template);
+		StringBuilder reason = new StringBuilder();
+		int start = 0;
+		for (String parameter : parameters) {
+			int index = pattern.indexOf(PLACEHOLDER, start);
+			reason.append(pattern, start, index).append(parameter);
+			start = index + PLACEHOLDER.length();
+		}
+		return reason.append(pattern, start, pattern.length()).toString();
+	}
+
+	/**
+	 * A reason split in a template and its parameters.
+	 *
+	 * @param template the template
+	 * @param parameters the parameters, in the order of the placeholders in the template
+	 */
+	record NormalizedReason(String template, List<String> parameters) {
+
+	}
+
+}
@@ -0,0 +1,162 @@
+package org.springframework.experiment.cds.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact table of skipped classes. Templates, class names and parameters are stored
+ * once, and each skip is a set of identifiers pointing to them.
+ *
+ * @author Stephane Nicoll
+ */
+class SkipTable {
+
+	private final Dictionary templates = new Dictionary();
+
+	private final Dictionary values = new Dictionary();
+
+	private long[] templateCounts = new long[16];
+
+	private int[] templateIds = new int[64];
+
+	private int[] classIds = new int[64];
+
+	private int[] parameterOffsets = new int[64];
+
+	private int[] parameterIds = new int[64];
+
+	private int size;
+
+	private int parameterSize;
+
+	/**
+	 * Add the specified skip event.
+	 * @param event the event to add
+	 */
+	void add(CdsSkipEvent event) {
+		int templateId = this.templates.idOf(event.template());
+		if (templateId == this.templateCounts.length) {
+			this.templateCounts = Arrays.copyOf(this.templateCounts, templateId * 2);
+		}
+		this.templateCounts[templateId]++;
+		if (this.size == this.templateIds.length) {
+			int capacity = this.size * 2;
+			this.templateIds = Arrays.copyOf(this.templateIds, capacity);
+			this.classIds = Arrays.copyOf(this.classIds, capacity);
+			this.parameterOffsets = Arrays.copyOf(this.parameterOffsets, capacity);
+		}
+		this.templateIds[this.size] = templateId;
+		this.classIds[this.size] = this.values.idOf(event.className());
+		this.parameterOffsets[this.size] = this.parameterSize;
+		for (String parameter : event.parameters()) {
+			if (this.parameterSize == this.parameterIds.length) {
+				this.parameterIds = Arrays.copyOf(this.parameterIds, this.parameterSize * 2);
+			}
+			this.parameterIds[this.parameterSize++] = this.values.idOf(parameter);
+		}
+		this.size++;
+	}
+
+	/**
+	 * Add all the skips of the specified table.
+	 * @param other the table to add
+	 */
+	void addAll(SkipTable other) {
+		for (int i = 0; i < other.size; i++) {
+			add(other.get(i));
+		}
+	}
+
+	/**
+	 * Return the number of skips.
+	 * @return the size of the table
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the number of distinct templates.
+	 * @return the template count
+	 */
+	int distinctTemplates() {
+		return this.templates.size();
+	}
+
+	/**
+	 * Return the template with the specified id.
+	 * @param templateId the id of the template
+	 * @return the template
+	 */
+	String template(int templateId) {
+		return this.templates.valueOf(templateId);
+	}
+
+	/**
+	 * Return the number of skips with the specified template.
+	 * @param templateId the id of the template
+	 * @return the number of skips
+	 */
+	long countOf(int templateId) {
+		return this.templateCounts[templateId];
+	}
+
+	/**
+	 * Return the id of the template of the skip at the specified index.
+	 * @param index the index of the skip
+	 * @return the id of the template
+	 */
+	int templateId(int index) {
+		return this.templateIds[index];
+	}
+
+	/**
+	 * Return the class name of the skip at the specified index.
+	 * @param index the index of the skip
+	 * @return the class name
+	 */
+	String className(int index) {
+		return this.values.valueOf(this.classIds[index]);
+	}
+
+	/**
+	 * Return the skip at the specified index.
+	 * @param index the index of the skip
+	 * @return the skip event
+	 */
+	CdsSkipEvent get(int index) {
+		int end = (index + 1 < this.size) ? this.parameterOffsets[index + 1] : this.parameterSize;
+		List<String> parameters = new ArrayList<>(end - this.parameterOffsets[index]);
+		for (int i = this.parameterOffsets[index]; i < end; i++) {
+			parameters.add(this.values.valueOf(this.parameterIds[i]));
+		}
+		return new CdsSkipEvent(className(index), template(this.templateIds[index]), parameters);
+	}
+
+	private static final class Dictionary {
+
+		private final Map<String, Integer> ids = new HashMap<>();
+
+		private final List<String> values = new ArrayList<>();
+
+		int idOf(String value) {
+			return this.ids.computeIfAbsent(value, (key) -> {
+				this.values.add(key);
+				return this.values.size() - 1;
+			});
+		}
+
+		String valueOf(int id) {
+			return this.values.get(id);
+		}
+
+		int size() {
+			return this.values.size();
+		}
+
+	}
+
+}
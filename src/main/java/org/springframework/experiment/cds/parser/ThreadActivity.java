@@ -0,0 +1,176 @@
+package org.springframework.experiment.cds.parser;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Class loading activity of a single thread. Only available if the {@code tid} decorator
+ * was specified, something like: <pre>
+ * -Xlog:class+load:file=cds.log:uptime,tid,tags
+ * </pre> and the log is parsed with the same {@linkplain LogDecorators decorators}.
+ *
+ * @author Stephane Nicoll
+ */
+public class ThreadActivity {
+
+	private final String threadId;
+
+	private final long hitCount;
+
+	private final MultiValueMap<String, String> misses;
+
+	private final long missCount;
+
+	@Nullable
+	private final Duration firstUptime;
+
+	@Nullable
+	private final Duration lastUptime;
+
+	private ThreadActivity(Builder builder) {
+		this.threadId = builder.threadId;
+		this.hitCount = builder.hitCount;
+		this.misses = CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>(builder.misses));
+		this.missCount = builder.misses.values().stream().map(List::size).reduce(0, Integer::sum);
+		this.firstUptime = builder.firstUptime;
+		this.lastUptime = builder.lastUptime;
+	}
+
+	/**
+	 * Return the identifier of the thread, as logged by the JVM.
+	 * @return the thread id
+	 */
+	public String getThreadId() {
+		return this.threadId;
+	}
+
+	/**
+	 * Return the number of classes that this thread loaded from the cache.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the classes names that this thread did not load from the cache, mapped by
+	 * location.
+	 * @return a map from location to class names that were not loaded from the cache
+	 */
+	public MultiValueMap<String, String> getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Return the number of classes that this thread did not load from the cache.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the total number of classes that this thread loaded.
+	 * @return the classes loaded count
+	 */
+	public long getLoadCount() {
+		return this.hitCount + this.missCount;
+	}
+
+	/**
+	 * Returns the ratio of classes that this thread loaded from the cache.
+	 * @return the hit rate
+	 */
+	public float getHitRate() {
+		return ((float) this.hitCount / (float) getLoadCount());
+	}
+
+	/**
+	 * Return the uptime of the JVM when this thread loaded its first class, if the
+	 * {@code uptime} decorator was specified.
+	 * @return the uptime of the first class load or {@code null}
+	 */
+	@Nullable
+	public Duration getFirstUptime() {
+		return this.firstUptime;
+	}
+
+	/**
+	 * Return the uptime of the JVM when this thread loaded its last class, if the
+	 * {@code uptime} decorator was specified.
+	 * @return the uptime of the last class load or {@code null}
+	 */
+	@Nullable
+	public Duration getLastUptime() {
+		return this.lastUptime;
+	}
+
+	/**
+	 * Return the time span during which this thread loaded classes, if the {@code uptime}
+	 * decorator was specified.
+	 * @return the span of class loading or {@code null}
+	 */
+	@Nullable
+	public Duration getSpan() {
+		return (this.firstUptime != null) ? this.lastUptime.minus(this.firstUptime) : null;
+	}
+
+	static class Builder {
+
+		private final String threadId;
+
+		private long hitCount;
+
+		private final MultiValueMap<String, String> misses = new LinkedMultiValueMap<>();
+
+		@Nullable
+		private Duration firstUptime;
+
+		@Nullable
+		private Duration lastUptime;
+
+		Builder(String threadId) {
+			this.threadId = threadId;
+		}
+
+		void hit(@Nullable Duration uptime) {
+			this.hitCount++;
+			recordUptime(uptime);
+		}
+
+		void miss(String location, String className, @Nullable Duration uptime) {
+			this.misses.add(location, className);
+			recordUptime(uptime);
+		}
+
+		Builder merge(Builder other) {
+			this.hitCount += other.hitCount;
+			other.misses.forEach((location, classNames) -> this.misses.addAll(location, classNames));
+			recordUptime(other.firstUptime);
+			recordUptime(other.lastUptime);
+			return this;
+		}
+
+		private void recordUptime(@Nullable Duration uptime) {
+			if (uptime != null) {
+				if (this.firstUptime == null || uptime.compareTo(this.firstUptime) < 0) {
+					this.firstUptime = uptime;
+				}
+				if (this.lastUptime == null || uptime.compareTo(this.lastUptime) > 0) {
+					this.lastUptime = uptime;
+				}
+			}
+		}
+
+		ThreadActivity build() {
+			return new ThreadActivity(this);
+		}
+
+	}
+
+}
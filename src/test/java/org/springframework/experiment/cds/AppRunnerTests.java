@@ -0,0 +1,110 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link AppRunner}.
+ *
+ * @author Stephane Nicoll
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class AppRunnerTests {
+
+	private static final String FAILING_SERVER = """
+			import java.net.InetSocketAddress;
+			import com.sun.net.httpserver.HttpServer;
+
+			public class Server {
+
+				public static void main(String[] args) throws Exception {
+					int port = Integer.parseInt(System.getProperty("server.port"));
+					HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+					server.createContext("/", (exchange) -> {
+						exchange.sendResponseHeaders(500, -1);
+						exchange.close();
+					});
+					server.start();
+					System.out.println("Failing server started");
+				}
+
+			}
+			""";
+
+	private static final String SERVER = """
+			import java.net.InetSocketAddress;
+			import com.sun.net.httpserver.HttpServer;
+
+			public class Server {
+
+				public static void main(String[] args) throws Exception {
+					int port = Integer.parseInt(System.getProperty("server.port"));
+					HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+					server.createContext("/", (exchange) -> {
+						exchange.sendResponseHeaders(200, -1);
+						exchange.close();
+					});
+					server.start();
+				}
+
+			}
+			""";
+
+	private final AppRunner appRunner = new AppRunner();
+
+	@Test
+	void createCdsArchiveWithWorkloadStopsApplicationGracefully(@TempDir Path workingDirectory, CapturedOutput output)
+			throws Exception {
+		Files.writeString(workingDirectory.resolve("Server.java"), SERVER);
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("timeout 30s", "3x GET /owners"));
+		Path cdsArchiveLogFile = this.appRunner.createCdsArchiveWithWorkload(workingDirectory, List.of("Server.java"),
+				workload);
+		assertThat(output).contains("Replayed 3 requests (0 failed)");
+		assertThat(cdsArchiveLogFile).exists();
+		assertThat(workingDirectory.resolve("application.jsa")).isNotEmptyFile();
+	}
+
+	@Test
+	void createCdsArchiveWithWorkloadFailsWhenAllRequestsFail(@TempDir Path workingDirectory, CapturedOutput output)
+			throws IOException {
+		Files.writeString(workingDirectory.resolve("Server.java"), FAILING_SERVER);
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("timeout 30s", "2x GET /owners"));
+		assertThatIllegalStateException().isThrownBy(
+				() -> this.appRunner.createCdsArchiveWithWorkload(workingDirectory, List.of("Server.java"), workload))
+			.withMessage("All 2 requests of the workload failed, see log above");
+		assertThat(output).contains("Replayed 2 requests (2 failed)").contains("Failing server started");
+	}
+
+	@Test
+	void createCdsArchiveWithWorkloadPrintsLogWhenApplicationStops(@TempDir Path workingDirectory,
+			CapturedOutput output) throws IOException {
+		Files.writeString(workingDirectory.resolve("Server.java"), """
+				public class Server {
+
+					public static void main(String[] args) {
+						System.out.println("Application failed to start");
+						System.exit(1);
+					}
+
+				}
+				""");
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("timeout 30s", "GET /owners"));
+		assertThatIllegalStateException().isThrownBy(
+				() -> this.appRunner.createCdsArchiveWithWorkload(workingDirectory, List.of("Server.java"), workload))
+			.withMessage("Application stopped before it was ready");
+		assertThat(output).contains("Application failed to start");
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.springframework.experiment.cds;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ApplicationDetector}.
+ *
+ * @author Stephane Nicoll
+ */
+class ApplicationDetectorTests {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void detectExplodedStructure() throws IOException {
+		Files.createDirectories(this.root.resolve("BOOT-INF"));
+		assertThat(new ApplicationDetector(null).detect(this.root))
+			.containsExactly("org.springframework.boot.loader.launch.JarLauncher");
+	}
+
+	@Test
+	void detectExtractedApplication() throws IOException {
+		Files.createFile(this.root.resolve("run-app.jar"));
+		assertThat(new ApplicationDetector(null).detect(this.root)).containsExactly("-jar", "run-app.jar");
+	}
+
+	@Test
+	void detectJarFile() throws IOException {
+		Files.createFile(this.root.resolve("my-app.jar"));
+		assertThat(new ApplicationDetector("my-app.jar").detect(this.root)).containsExactly("-jar", "my-app.jar");
+		assertThat(new ApplicationDetector("another-app.jar").detect(this.root)).isNull();
+	}
+
+	@Test
+	void detectWithNoApplication() {
+		assertThat(new ApplicationDetector(null).detect(this.root)).isNull();
+	}
+
+	@Test
+	void discoverApplications() throws IOException {
+		Files.createDirectories(this.root.resolve("services/orders/target/app/BOOT-INF"));
+		Files.createDirectories(this.root.resolve("services/billing/target/app"));
+		Files.createFile(this.root.resolve("services/billing/target/app/run-app.jar"));
+		Files.createDirectories(this.root.resolve("libs/common/src"));
+		Files.createDirectories(this.root.resolve(".git/BOOT-INF"));
+		assertThat(new ApplicationDetector(null).discover(this.root, 4)).containsExactlyInAnyOrder(
+				this.root.resolve("services/orders/target/app"), this.root.resolve("services/billing/target/app"));
+	}
+
+	@Test
+	void discoverApplicationsHonorsMaxDepth() throws IOException {
+		Files.createDirectories(this.root.resolve("one/BOOT-INF"));
+		Files.createDirectories(this.root.resolve("one/two/three/BOOT-INF"));
+		Files.createDirectories(this.root.resolve("four/five/six/BOOT-INF"));
+		assertThat(new ApplicationDetector(null).discover(this.root, 2)).containsExactly(this.root.resolve("one"));
+	}
+
+	@Test
+	void getClasspathWithJar() {
+		assertThat(ApplicationDetector.getClasspath(List.of("-jar", "run-app.jar"))).containsExactly("run-app.jar");
+	}
+
+	@Test
+	void getClasspathWithClasspathOption() {
+		assertThat(ApplicationDetector.getClasspath(List.of("-Xshare:auto", "-cp",
+				String.join(File.pathSeparator, "classes", "lib/a.jar"), "com.example.Main")))
+			.containsExactly("classes", "lib/a.jar");
+	}
+
+	@Test
+	void getClasspathWithMainClass() {
+		assertThat(ApplicationDetector.getClasspath(List.of("org.springframework.boot.loader.launch.JarLauncher")))
+			.containsExactly(".");
+	}
+
+}
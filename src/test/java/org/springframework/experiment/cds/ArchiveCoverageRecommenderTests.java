@@ -0,0 +1,141 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.experiment.cds.parser.CdsArchiveLogParser;
+import org.springframework.experiment.cds.parser.CdsArchiveReport;
+import org.springframework.experiment.cds.parser.ClassLoadEvent;
+import org.springframework.experiment.cds.parser.ClassLoadingLogParser;
+import org.springframework.experiment.cds.parser.ClassLoadingReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * Tests for {@link ArchiveCoverageRecommender}.
+ *
+ * @author Stephane Nicoll
+ */
+class ArchiveCoverageRecommenderTests {
+
+	private static final Path WORKING_DIRECTORY = Path.of("/tmp/test-app/target/app/");
+
+	private final ArchiveCoverageRecommender recommender = new ArchiveCoverageRecommender(WORKING_DIRECTORY,
+			List.of("BOOT-INF/lib/spring-context-6.1.0-RC2.jar", "BOOT-INF/lib/spring-jcl-6.1.0-RC2.jar",
+					"BOOT-INF/lib/byte-buddy-1.14.9.jar"));
+
+	@Test
+	void recommendIgnoresLambdasAndProxies() throws IOException {
+		ArchiveCoverageRecommendation recommendation = this.recommender.recommend(parseSampleLog("archive-coverage"),
+				null);
+		assertThat(recommendation.getCandidateCount()).isEqualTo(5);
+		assertThat(recommendation.getCandidates()).containsOnlyKeys("BOOT-INF/lib/spring-context-6.1.0-RC2.jar",
+				"BOOT-INF/lib/spring-jcl-6.1.0-RC2.jar", "BOOT-INF/lib/byte-buddy-1.14.9.jar", "jrt:/java.base");
+		assertThat(recommendation.getRankedLocations().get(0).getKey())
+			.isEqualTo("BOOT-INF/lib/spring-context-6.1.0-RC2.jar");
+		assertThat(recommendation.getHitRate()).isEqualTo(0.11f, offset(0.01f));
+		assertThat(recommendation.getEstimatedHitRate()).isEqualTo(0.66f, offset(0.01f));
+	}
+
+	@Test
+	void recommendIgnoresSkippedClasses() throws IOException {
+		CdsArchiveReport archiveReport = new CdsArchiveLogParser()
+			.parse(new ClassPathResource("sample/logs/cds-archive-coverage.log"));
+		ArchiveCoverageRecommendation recommendation = this.recommender.recommend(parseSampleLog("archive-coverage"),
+				archiveReport);
+		assertThat(recommendation.getCandidateCount()).isEqualTo(4);
+		assertThat(recommendation.getCandidates()).doesNotContainKey("BOOT-INF/lib/byte-buddy-1.14.9.jar");
+	}
+
+	@Test
+	void writeClassList() throws IOException {
+		ArchiveCoverageRecommendation recommendation = this.recommender.recommend(parseSampleLog("archive-coverage"),
+				null);
+		StringWriter writer = new StringWriter();
+		recommendation.writeClassList(writer);
+		assertThat(writer.toString().lines().filter((line) -> !line.startsWith("#"))).containsExactly(
+				"java/lang/Object", "org/springframework/context/ApplicationListener",
+				"org/springframework/context/ApplicationEvent", "org/apache/commons/logging/LogFactory",
+				"net/bytebuddy/description/type/RecordComponentDescription",
+				"java/util/concurrent/ConcurrentSkipListMap");
+	}
+
+	@Test
+	void recommendKeepsHitsThatCanBeListed() {
+		ClassLoadingReport report = Stream
+			.of(new ClassLoadEvent("java.lang.Object", null, null, null),
+					new ClassLoadEvent("java.lang.Runnable$$Lambda/0x0000000801002000", null, null, null),
+					new ClassLoadEvent("jdk.proxy1.$Proxy1", null, null, null),
+					new ClassLoadEvent("java.util.concurrent.ConcurrentSkipListMap", "jrt:/java.base", null, null))
+			.collect(ClassLoadingReport.collector());
+		ArchiveCoverageRecommendation recommendation = this.recommender.recommend(report, null);
+		assertThat(recommendation.getArchivedHits()).containsExactly("java.lang.Object");
+		assertThat(recommendation.getHitRate()).isEqualTo(0.75f);
+		assertThat(recommendation.getEstimatedHitRate()).isEqualTo(0.5f);
+	}
+
+	@Test
+	void recommendIgnoresLocationsNotOnClasspath() throws IOException {
+		ArchiveCoverageRecommender recommender = new ArchiveCoverageRecommender(WORKING_DIRECTORY,
+				List.of("BOOT-INF/lib/spring-context-6.1.0-RC2.jar"));
+		ArchiveCoverageRecommendation recommendation = recommender.recommend(parseSampleLog("archive-coverage"), null);
+		assertThat(recommendation.getCandidates()).containsOnlyKeys("BOOT-INF/lib/spring-context-6.1.0-RC2.jar",
+				"jrt:/java.base");
+	}
+
+	@Test
+	void recommendIgnoresNestedJars() throws IOException {
+		ArchiveCoverageRecommender recommender = new ArchiveCoverageRecommender(WORKING_DIRECTORY,
+				ApplicationDetector.getClasspath(List.of("-jar", "my-app.jar")));
+		ArchiveCoverageRecommendation recommendation = recommender.recommend(parseSampleLog("archive-coverage-nested"),
+				null);
+		assertThat(recommendation.getCandidates()).containsOnlyKeys("my-app.jar", "jrt:/java.base");
+		assertThat(recommendation.getCandidates().get("my-app.jar"))
+			.containsExactly("org.springframework.boot.loader.launch.JarLauncher");
+	}
+
+	@Test
+	void recommendWithDefaultClasspathIgnoresJars() throws IOException {
+		ArchiveCoverageRecommender recommender = new ArchiveCoverageRecommender(WORKING_DIRECTORY,
+				ApplicationDetector.getClasspath(List.of("org.springframework.boot.loader.launch.JarLauncher")));
+		ArchiveCoverageRecommendation recommendation = recommender.recommend(parseSampleLog("archive-coverage"), null);
+		assertThat(recommendation.getCandidates()).containsOnlyKeys("jrt:/java.base");
+	}
+
+	@Test
+	void recommendIncludesManifestClasspath(@TempDir Path workingDirectory) throws IOException {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, "lib/a.jar lib/b.jar");
+		try (JarOutputStream jar = new JarOutputStream(Files.newOutputStream(workingDirectory.resolve("run-app.jar")),
+				manifest)) {
+			jar.closeEntry();
+		}
+		ClassLoadingReport report = Stream
+			.of(new ClassLoadEvent("com.example.A", "lib/a.jar", null, null),
+					new ClassLoadEvent("com.example.C", "lib/c.jar", null, null))
+			.collect(ClassLoadingReport.collector());
+		ArchiveCoverageRecommendation recommendation = new ArchiveCoverageRecommender(workingDirectory,
+				List.of("run-app.jar"))
+			.recommend(report, null);
+		assertThat(recommendation.getCandidates()).containsOnlyKeys("lib/a.jar");
+	}
+
+	private ClassLoadingReport parseSampleLog(String name) throws IOException {
+		ClassLoadingLogParser parser = new ClassLoadingLogParser(WORKING_DIRECTORY);
+		return parser.parser(new ClassPathResource("sample/logs/%s.log".formatted(name)));
+	}
+
+}
@@ -0,0 +1,206 @@
+package org.springframework.experiment.cds;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.experiment.cds.BatchArchiveCreator.Result;
+import org.springframework.lang.Nullable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BatchArchiveCreator}.
+ *
+ * @author Stephane Nicoll
+ */
+class BatchArchiveCreatorTests {
+
+	@TempDir
+	Path root;
+
+	@Test
+	void createRunsApplicationsConcurrently() throws Exception {
+		List<Path> applications = createApplications(6);
+		TrackingAppRunner appRunner = new TrackingAppRunner(new CyclicBarrier(2));
+		List<Result> results = new BatchArchiveCreator(appRunner, new ApplicationDetector(null), 2)
+			.create(applications);
+		assertThat(results).extracting(Result::application).containsExactlyElementsOf(applications);
+		assertThat(results).allSatisfy((result) -> {
+			assertThat(result.failure()).isNull();
+			assertThat(result.report().getSkippedCount()).isEqualTo(1);
+		});
+		assertThat(appRunner.maxConcurrentRuns.get()).isEqualTo(2);
+		assertThat(appRunner.tempDirectories).hasSize(6)
+			.allSatisfy((tempDirectory) -> assertThat(tempDirectory).doesNotExist());
+	}
+
+	@Test
+	void createRunsApplicationsWithBoundedParallelism() throws Exception {
+		List<Path> applications = createApplications(8);
+		TrackingAppRunner appRunner = new TrackingAppRunner(null);
+		List<Result> results = new BatchArchiveCreator(appRunner, new ApplicationDetector(null), 2)
+			.create(applications);
+		assertThat(results).hasSize(8).allSatisfy((result) -> assertThat(result.failure()).isNull());
+		assertThat(appRunner.maxConcurrentRuns.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void createReportsFailures() throws Exception {
+		List<Path> applications = createApplications(1);
+		AppRunner appRunner = new AppRunner() {
+			@Override
+			Path createCdsArchive(Path workingDirectory, List<String> processArguments, Path tempDirectory) {
+				throw new IllegalStateException("Failed to run application");
+			}
+		};
+		List<Result> results = new BatchArchiveCreator(appRunner, new ApplicationDetector(null), 2)
+			.create(applications);
+		assertThat(results).singleElement().satisfies((result) -> {
+			assertThat(result.report()).isNull();
+			assertThat(result.failure()).hasMessage("Failed to run application");
+		});
+	}
+
+	@Test
+	void createDestroysTrainingProcessesWhenInterrupted() throws Exception {
+		Path application = Files.createDirectories(this.root.resolve("app"));
+		Files.writeString(application.resolve("Sleep.java"), """
+				public class Sleep {
+
+					public static void main(String[] args) throws Exception {
+						Thread.sleep(Long.MAX_VALUE);
+					}
+
+				}
+				""");
+		ApplicationDetector detector = singleFileDetector("Sleep.java");
+		Set<Path> tempDirectories = ConcurrentHashMap.newKeySet();
+		AppRunner appRunner = new AppRunner() {
+			@Override
+			Path createCdsArchive(Path workingDirectory, List<String> processArguments, Path tempDirectory)
+					throws Exception {
+				tempDirectories.add(tempDirectory);
+				return super.createCdsArchive(workingDirectory, processArguments, tempDirectory);
+			}
+		};
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			try {
+				new BatchArchiveCreator(appRunner, detector, 1).create(List.of(application));
+			}
+			catch (Throwable ex) {
+				failure.set(ex);
+			}
+		});
+		thread.start();
+		ProcessHandle training = awaitChildProcess();
+		thread.interrupt();
+		thread.join(TimeUnit.SECONDS.toMillis(30));
+		assertThat(thread.isAlive()).isFalse();
+		assertThat(failure.get()).isInstanceOf(InterruptedException.class);
+		assertThat(training.onExit().get(30, TimeUnit.SECONDS).isAlive()).isFalse();
+		assertThat(tempDirectories).singleElement()
+			.satisfies((tempDirectory) -> assertThat(tempDirectory).doesNotExist());
+	}
+
+	@Test
+	void createKeepsOutputOfFailedRunInApplicationDirectory() throws Exception {
+		Path application = Files.createDirectories(this.root.resolve("app"));
+		Files.writeString(application.resolve("Fail.java"), """
+				public class Fail {
+
+					public static void main(String[] args) {
+						System.out.println("Application failed to start");
+						System.exit(1);
+					}
+
+				}
+				""");
+		List<Result> results = new BatchArchiveCreator(new AppRunner(), singleFileDetector("Fail.java"), 1)
+			.create(List.of(application));
+		Path runLogFile = application.resolve("cds-archive-run.log");
+		assertThat(results).singleElement()
+			.satisfies((result) -> assertThat(result.failure())
+				.hasMessage("Failed to run application, see " + runLogFile));
+		assertThat(runLogFile).content().contains("Application failed to start");
+	}
+
+	@Test
+	void getDefaultParallelismWithNoMemoryPerRun() {
+		assertThatIllegalArgumentException().isThrownBy(() -> BatchArchiveCreator.getDefaultParallelism(0))
+			.withMessage("Memory per run must be positive, got 0");
+	}
+
+	private ApplicationDetector singleFileDetector(String sourceFile) {
+		return new ApplicationDetector(null) {
+			@Override
+			List<String> detect(Path directory) {
+				return List.of(sourceFile);
+			}
+		};
+	}
+
+	private ProcessHandle awaitChildProcess() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (System.nanoTime() < deadline) {
+			Optional<ProcessHandle> child = ProcessHandle.current().children().findFirst();
+			if (child.isPresent()) {
+				return child.get();
+			}
+			Thread.sleep(50);
+		}
+		throw new IllegalStateException("Training process did not start");
+	}
+
+	private List<Path> createApplications(int count) throws Exception {
+		for (int i = 0; i < count; i++) {
+			Files.createDirectories(this.root.resolve("app-" + i).resolve("BOOT-INF"));
+		}
+		return new ApplicationDetector(null).discover(this.root, 1).stream().sorted().toList();
+	}
+
+	static class TrackingAppRunner extends AppRunner {
+
+		private final AtomicInteger concurrentRuns = new AtomicInteger();
+
+		private final AtomicInteger maxConcurrentRuns = new AtomicInteger();
+
+		private final Set<Path> tempDirectories = ConcurrentHashMap.newKeySet();
+
+		@Nullable
+		private final CyclicBarrier barrier;
+
+		TrackingAppRunner(@Nullable CyclicBarrier barrier) {
+			this.barrier = barrier;
+		}
+
+		@Override
+		Path createCdsArchive(Path workingDirectory, List<String> processArguments, Path tempDirectory)
+				throws Exception {
+			int runs = this.concurrentRuns.incrementAndGet();
+			this.maxConcurrentRuns.accumulateAndGet(runs, Math::max);
+			this.tempDirectories.add(tempDirectory);
+			if (this.barrier != null) {
+				this.barrier.await(10, TimeUnit.SECONDS);
+			}
+			this.concurrentRuns.decrementAndGet();
+			Path log = tempDirectory.resolve("cds-archive-warnings.log");
+			Files.writeString(log, "[cds] Skipping jdk/internal/event/ThreadSleepEvent: JFR event class");
+			return log;
+		}
+
+	}
+
+}
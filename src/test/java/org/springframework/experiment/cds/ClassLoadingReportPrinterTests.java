@@ -0,0 +1,58 @@
+package org.springframework.experiment.cds;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.experiment.cds.parser.ClassLoadingLogParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassLoadingReportPrinter}.
+ *
+ * @author Stephane Nicoll
+ */
+class ClassLoadingReportPrinterTests {
+
+	private final ClassLoadingLogParser parser = new ClassLoadingLogParser(Path.of("/tmp/test-app/target/app/"));
+
+	@Test
+	void printApproximateMatchesExactCounts() throws IOException {
+		ClassPathResource resource = new ClassPathResource("sample/logs/jars-and-jdk-archive.log");
+		ClassLoadingSketch sketch = new ClassLoadingSketch();
+		this.parser.parse(resource, sketch::add);
+		String approximate = print((out) -> new ClassLoadingReportPrinter().print(sketch, out));
+		String exact = print((out) -> new ClassLoadingReportPrinter().print(this.parser.parser(resource), out));
+		assertThat(approximate).contains("Class Loading Report (approximate):")
+			.contains("         5 classes and JDK proxies loaded")
+			.contains("         5 distinct classes")
+			.contains("         3 (60.00%) from cache")
+			.contains("         2 (40.00%) from classpath")
+			.contains("(counts overestimated by at most 0)")
+			.contains("         1 BOOT-INF/lib/spring-context-6.1.0-RC2.jar")
+			.contains("         1 BOOT-INF/lib/spring-jcl-6.1.0-RC2.jar");
+		assertThat(exact).contains("         3 (60.00%) from cache").contains("         2 (40.00%) from classpath");
+	}
+
+	private String print(Printer printer) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		try (PrintStream out = new PrintStream(content, true, StandardCharsets.UTF_8)) {
+			printer.print(out);
+		}
+		return content.toString(StandardCharsets.UTF_8);
+	}
+
+	@FunctionalInterface
+	private interface Printer {
+
+		void print(PrintStream out) throws IOException;
+
+	}
+
+}
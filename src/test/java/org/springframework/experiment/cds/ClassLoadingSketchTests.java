@@ -0,0 +1,88 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.experiment.cds.SpaceSavingSketch.Estimate;
+import org.springframework.experiment.cds.parser.ClassLoadingLogParser;
+import org.springframework.experiment.cds.parser.ClassLoadingReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassLoadingSketch}.
+ *
+ * @author Stephane Nicoll
+ */
+class ClassLoadingSketchTests {
+
+	private final ClassLoadingLogParser parser = new ClassLoadingLogParser(Path.of("/tmp/test-app/target/app/"));
+
+	@ParameterizedTest
+	@ValueSource(strings = { "jdk-archive-only", "jars-only", "jars-and-jdk-archive", "lambdas", "thread-id-format" })
+	void sketchMatchesExactReport(String name) throws IOException {
+		ClassLoadingReport report = this.parser.parser(sampleLog(name));
+		ClassLoadingSketch sketch = sketch(name);
+		assertThat(sketch.getLoadCount()).isEqualTo(report.getLoadCount());
+		assertThat(sketch.getHits()).isEqualTo(report.getHits().size());
+		assertThat(sketch.getMisses()).isEqualTo(report.getLoadCount() - report.getHits().size());
+		assertThat(sketch.getHitRate()).isEqualTo(report.getHitRate());
+		assertThat(sketch.getDistinctClasses().estimate()).isEqualTo(distinctClasses(report).size());
+		assertCategory(sketch.getLambdas(), report, ClassNames::isLambda);
+		assertCategory(sketch.getProxies(), report, ClassNames::isProxy);
+		Map<String, Long> locations = sketch.getLocations()
+			.top(10)
+			.stream()
+			.collect(Collectors.toMap(Estimate::element, Estimate::count));
+		assertThat(locations).hasSameSizeAs(report.getMisses().keySet());
+		report.getMisses()
+			.forEach((location, classNames) -> assertThat(locations).containsEntry(location, (long) classNames.size()));
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "jars-and-jdk-archive", "lambdas" })
+	void mergeMatchesSketchOfAllEvents(String name) throws IOException {
+		ClassLoadingSketch merged = sketch("jars-only");
+		merged.merge(sketch(name));
+		ClassLoadingSketch combined = sketch("jars-only");
+		this.parser.parse(sampleLog(name), combined::add);
+		assertThat(merged.getLoadCount()).isEqualTo(combined.getLoadCount());
+		assertThat(merged.getHits()).isEqualTo(combined.getHits());
+		assertThat(merged.getDistinctClasses().estimate()).isEqualTo(combined.getDistinctClasses().estimate());
+		assertThat(merged.getLocations().top(10)).containsExactlyInAnyOrderElementsOf(combined.getLocations().top(10));
+	}
+
+	private void assertCategory(ClassLoadingSketch.CategoryCounter counter, ClassLoadingReport report,
+			Predicate<String> classNameFilter) {
+		assertThat(counter.getFromCache()).isEqualTo(report.getHits().stream().filter(classNameFilter).count());
+		assertThat(counter.getFromClasspath())
+			.isEqualTo(report.getMisses().values().stream().flatMap(List::stream).filter(classNameFilter).count());
+	}
+
+	private Set<String> distinctClasses(ClassLoadingReport report) {
+		Set<String> classNames = new HashSet<>(report.getHits());
+		report.getMisses().values().forEach(classNames::addAll);
+		return classNames;
+	}
+
+	private ClassLoadingSketch sketch(String name) throws IOException {
+		ClassLoadingSketch sketch = new ClassLoadingSketch();
+		this.parser.parse(sampleLog(name), sketch::add);
+		return sketch;
+	}
+
+	private ClassPathResource sampleLog(String name) {
+		return new ClassPathResource("sample/logs/%s.log".formatted(name));
+	}
+
+}
@@ -0,0 +1,59 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.experiment.cds.HiddenClassAnalysis.HostDetail;
+import org.springframework.experiment.cds.parser.ClassLoadingLogParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HiddenClassAnalysis}.
+ *
+ * @author Stephane Nicoll
+ */
+class HiddenClassAnalysisTests {
+
+	@Test
+	void getHost() {
+		assertThat(HiddenClassAnalysis.getHost("com.example.Demo$$Lambda/0x0000000801002000"))
+			.isEqualTo("com.example.Demo");
+		assertThat(HiddenClassAnalysis.getHost("com.example.Demo$$Lambda$12/0x0000000801002000"))
+			.isEqualTo("com.example.Demo");
+		assertThat(HiddenClassAnalysis.getHost("java.lang.invoke.LambdaForm$MH/0x0000000801003000"))
+			.isEqualTo("java.lang.invoke.LambdaForm$MH");
+		assertThat(HiddenClassAnalysis.getHost("com.example.Demo")).isNull();
+	}
+
+	@Test
+	void analyzeCounts() throws IOException {
+		HiddenClassAnalysis analysis = analyzeSampleLog("lambdas");
+		assertThat(analysis.getArchivedCount()).isEqualTo(1);
+		assertThat(analysis.getDynamicCount()).isEqualTo(6);
+	}
+
+	@Test
+	void analyzeRanksHostsByDynamicCount() throws IOException {
+		HiddenClassAnalysis analysis = analyzeSampleLog("lambdas");
+		assertThat(analysis.getTopHosts(2)).containsExactly(
+				new HostDetail("org.springframework.boot.autoconfigure.web.WebProperties", 0, 3),
+				new HostDetail("org.springframework.core.io.support.SpringFactoriesLoader", 1, 1));
+	}
+
+	@Test
+	void analyzeRanksPackagesByDynamicCount() throws IOException {
+		HiddenClassAnalysis analysis = analyzeSampleLog("lambdas");
+		assertThat(analysis.getTopPackages(10)).containsExactly(new HostDetail("org.springframework", 1, 4),
+				new HostDetail("java.lang", 0, 1), new HostDetail("org.hibernate", 0, 1));
+	}
+
+	private HiddenClassAnalysis analyzeSampleLog(String name) throws IOException {
+		ClassLoadingLogParser parser = new ClassLoadingLogParser(Path.of("/tmp/test-app/target/app/"));
+		return HiddenClassAnalysis.of(parser.parser(new ClassPathResource("sample/logs/%s.log".formatted(name))));
+	}
+
+}
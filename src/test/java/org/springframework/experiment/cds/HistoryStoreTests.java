@@ -0,0 +1,183 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.experiment.cds.HistoryEntry.LocationCount;
+import org.springframework.experiment.cds.parser.ClassLoadEvent;
+import org.springframework.experiment.cds.parser.ClassLoadingReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HistoryStore}.
+ *
+ * @author Stephane Nicoll
+ */
+class HistoryStoreTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void appendAndReadEntries() throws IOException {
+		HistoryStore store = new HistoryStore(this.directory);
+		HistoryEntry loading = classLoadingEntry(Instant.ofEpochMilli(1000), "app", "1.0");
+		HistoryEntry archive = new HistoryEntry(Instant.ofEpochMilli(2000), "app", "1.0", -1, Float.NaN, Float.NaN,
+				Float.NaN, List.of(), 42);
+		store.append(loading);
+		store.append(archive);
+		assertThat(store.size()).isEqualTo(2);
+		assertThat(store.read("app")).containsExactly(loading, archive);
+	}
+
+	@Test
+	void readFiltersByApplication() throws IOException {
+		HistoryStore store = new HistoryStore(this.directory);
+		HistoryEntry first = classLoadingEntry(Instant.ofEpochMilli(1000), "first", "1.0");
+		HistoryEntry second = classLoadingEntry(Instant.ofEpochMilli(2000), "second", "1.0");
+		HistoryEntry third = classLoadingEntry(Instant.ofEpochMilli(3000), "first", "1.1");
+		store.append(first);
+		store.append(second);
+		store.append(third);
+		assertThat(store.getApplications()).containsExactly("first", "second");
+		assertThat(store.read("first")).containsExactly(first, third);
+		assertThat(store.read("unknown")).isEmpty();
+		assertThat(store.read(null)).containsExactly(first, second, third);
+	}
+
+	@Test
+	void entriesArePersisted() throws IOException {
+		HistoryEntry entry = classLoadingEntry(Instant.ofEpochMilli(1000), "app", "1.0");
+		new HistoryStore(this.directory).append(entry);
+		HistoryStore store = new HistoryStore(this.directory);
+		assertThat(store.read("app")).containsExactly(entry);
+		HistoryEntry another = classLoadingEntry(Instant.ofEpochMilli(2000), "app", "1.1");
+		store.append(another);
+		assertThat(new HistoryStore(this.directory).read("app")).containsExactly(entry, another);
+	}
+
+	@Test
+	void appendFromSeveralStoresOnSameDirectory() throws IOException {
+		HistoryStore first = new HistoryStore(this.directory);
+		HistoryStore second = new HistoryStore(this.directory);
+		HistoryEntry one = classLoadingEntry(Instant.ofEpochMilli(1000), "first", "1.0");
+		HistoryEntry two = classLoadingEntry(Instant.ofEpochMilli(2000), "second", "2.0");
+		HistoryEntry three = classLoadingEntry(Instant.ofEpochMilli(3000), "first", "1.1");
+		first.append(one);
+		second.append(two);
+		first.append(three);
+		assertThat(first.read(null)).containsExactly(one, two, three);
+		assertThat(second.read("first")).containsExactly(one, three);
+		assertThat(new HistoryStore(this.directory).getApplications()).containsExactly("first", "second");
+		assertThat(this.directory.resolve("strings.txt")).content()
+			.isEqualTo("first\n1.0\nBOOT-INF/lib/first.jar\nBOOT-INF/lib/second.jar\nsecond\n2.0\n1.1\n");
+	}
+
+	@Test
+	void appendConcurrentlyFromSeveralStoresOnSameDirectory() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> appends = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				HistoryStore store = new HistoryStore(this.directory);
+				String application = "app-" + i;
+				appends.add(executor.submit(() -> {
+					for (int j = 0; j < 10; j++) {
+						store.append(classLoadingEntry(Instant.ofEpochMilli(j), application, application + "-" + j));
+					}
+					return null;
+				}));
+			}
+			for (Future<?> append : appends) {
+				append.get(30, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		HistoryStore store = new HistoryStore(this.directory);
+		assertThat(store.size()).isEqualTo(40);
+		for (int i = 0; i < 4; i++) {
+			String application = "app-" + i;
+			assertThat(store.read(application)).extracting(HistoryEntry::version)
+				.containsExactly(IntStream.range(0, 10).mapToObj((j) -> application + "-" + j).toArray(String[]::new));
+		}
+		assertThat(Files.readAllLines(this.directory.resolve("strings.txt"))).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void partiallyAppendedEntryIsIgnoredAndOverwritten() throws IOException {
+		HistoryEntry entry = classLoadingEntry(Instant.ofEpochMilli(1000), "app", "1.0");
+		HistoryStore store = new HistoryStore(this.directory);
+		store.append(entry);
+		Files.write(this.directory.resolve("hit_rate.col"), new byte[] { 1, 2, 3, 4 }, StandardOpenOption.APPEND);
+		Files.write(this.directory.resolve("timestamp.col"), new byte[] { 1, 2 }, StandardOpenOption.APPEND);
+		assertThat(store.read("app")).containsExactly(entry);
+		HistoryEntry another = classLoadingEntry(Instant.ofEpochMilli(2000), "app", "1.1");
+		store.append(another);
+		assertThat(store.read("app")).containsExactly(entry, another);
+	}
+
+	@Test
+	void partiallyAppendedStringIsIgnoredAndRemoved() throws IOException {
+		HistoryEntry entry = classLoadingEntry(Instant.ofEpochMilli(1000), "app", "1.0");
+		new HistoryStore(this.directory).append(entry);
+		Path dictionary = this.directory.resolve("strings.txt");
+		Files.writeString(dictionary, "another-a", StandardOpenOption.APPEND);
+		HistoryStore store = new HistoryStore(this.directory);
+		assertThat(store.getApplications()).containsExactly("app");
+		HistoryEntry another = classLoadingEntry(Instant.ofEpochMilli(2000), "another-app", "2.0");
+		store.append(another);
+		assertThat(Files.readAllLines(dictionary)).containsExactly("app", "1.0", "BOOT-INF/lib/first.jar",
+				"BOOT-INF/lib/second.jar", "another-app", "2.0");
+		assertThat(new HistoryStore(this.directory).read(null)).containsExactly(entry, another);
+	}
+
+	@Test
+	void entryOfClassLoadingReport() {
+		ClassLoadingReport report = Stream
+			.of(hit("java.lang.Object"), hit("jdk.proxy1.$Proxy1"), hit("java.lang.String"),
+					hit("java.lang.Runnable$$Lambda/0x02"), miss("com.example.One", "first.jar"),
+					miss("com.example.Two", "first.jar"), miss("com.example.Three$$Lambda/0x01", "first.jar"),
+					miss("com.example.Four", "second.jar"))
+			.collect(ClassLoadingReport.collector());
+		HistoryEntry entry = HistoryEntry.of(Instant.ofEpochMilli(1000), "app", "1.0", report);
+		assertThat(entry.isClassLoading()).isTrue();
+		assertThat(entry.loadCount()).isEqualTo(8);
+		assertThat(entry.hitRate()).isEqualTo(0.5f);
+		assertThat(entry.lambdaShare()).isEqualTo(0.25f);
+		assertThat(entry.proxyShare()).isEqualTo(0.125f);
+		assertThat(entry.topLocations()).containsExactly(new LocationCount("first.jar", 3),
+				new LocationCount("second.jar", 1));
+	}
+
+	private ClassLoadEvent hit(String className) {
+		return new ClassLoadEvent(className, null, null, null);
+	}
+
+	private ClassLoadEvent miss(String className, String location) {
+		return new ClassLoadEvent(className, location, null, null);
+	}
+
+	private HistoryEntry classLoadingEntry(Instant timestamp, String application, String version) {
+		return new HistoryEntry(timestamp, application, version, 1200, 0.75f, 0.1f, 0.02f, List
+			.of(new LocationCount("BOOT-INF/lib/first.jar", 120), new LocationCount("BOOT-INF/lib/second.jar", 80)),
+				-1);
+	}
+
+}
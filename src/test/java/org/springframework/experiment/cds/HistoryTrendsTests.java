@@ -0,0 +1,74 @@
+package org.springframework.experiment.cds;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.experiment.cds.HistoryTrends.Change;
+import org.springframework.experiment.cds.HistoryTrends.Metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * Tests for {@link HistoryTrends}.
+ *
+ * @author Stephane Nicoll
+ */
+class HistoryTrendsTests {
+
+	private final HistoryTrends trends = new HistoryTrends(5);
+
+	@Test
+	void detectHitRateDrop() {
+		List<HistoryEntry> entries = new ArrayList<>();
+		float[] hitRates = { 0.80f, 0.81f, 0.79f, 0.80f, 0.81f, 0.70f };
+		for (int i = 0; i < hitRates.length; i++) {
+			entries.add(classLoadingEntry(i, hitRates[i], 1000));
+		}
+		List<Change> changes = this.trends.detect(entries);
+		assertThat(changes).singleElement().satisfies((change) -> {
+			assertThat(change.metric()).isEqualTo(Metric.HIT_RATE);
+			assertThat(change.entry()).isSameAs(entries.get(5));
+			assertThat(change.baseline()).isEqualTo(0.802, offset(0.001));
+		});
+	}
+
+	@Test
+	void noiseIsNotReported() {
+		List<HistoryEntry> entries = new ArrayList<>();
+		float[] hitRates = { 0.80f, 0.81f, 0.79f, 0.80f, 0.815f, 0.79f };
+		for (int i = 0; i < hitRates.length; i++) {
+			entries.add(classLoadingEntry(i, hitRates[i], 1000 + i * 5));
+		}
+		assertThat(this.trends.detect(entries)).isEmpty();
+	}
+
+	@Test
+	void detectSkippedCountIncreaseIgnoringClassLoadingEntries() {
+		List<HistoryEntry> entries = new ArrayList<>();
+		entries.add(archiveEntry(0, 100));
+		entries.add(classLoadingEntry(1, 0.8f, 1000));
+		entries.add(archiveEntry(2, 102));
+		entries.add(archiveEntry(3, 150));
+		List<Change> changes = this.trends.detect(entries);
+		assertThat(changes).singleElement().satisfies((change) -> {
+			assertThat(change.metric()).isEqualTo(Metric.SKIPPED_COUNT);
+			assertThat(change.baseline()).isEqualTo(101);
+			assertThat(change.value()).isEqualTo(150);
+		});
+	}
+
+	private HistoryEntry classLoadingEntry(int day, float hitRate, long loadCount) {
+		return new HistoryEntry(Instant.ofEpochSecond(day * 86400L), "app", "1." + day, loadCount, hitRate, 0.1f, 0.01f,
+				List.of(), -1);
+	}
+
+	private HistoryEntry archiveEntry(int day, long skippedCount) {
+		return new HistoryEntry(Instant.ofEpochSecond(day * 86400L), "app", "1." + day, -1, Float.NaN, Float.NaN,
+				Float.NaN, List.of(), skippedCount);
+	}
+
+}
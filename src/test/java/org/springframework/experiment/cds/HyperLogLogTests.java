@@ -0,0 +1,48 @@
+package org.springframework.experiment.cds;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+/**
+ * Tests for {@link HyperLogLog}.
+ *
+ * @author Stephane Nicoll
+ */
+class HyperLogLogTests {
+
+	@Test
+	void estimateSmallCardinality() {
+		HyperLogLog hyperLogLog = new HyperLogLog(14);
+		for (int i = 0; i < 100; i++) {
+			hyperLogLog.add("com.example.Class" + (i % 10));
+		}
+		assertThat(hyperLogLog.estimate()).isEqualTo(10);
+	}
+
+	@Test
+	void estimateLargeCardinalityWithinErrorBound() {
+		HyperLogLog hyperLogLog = new HyperLogLog(14);
+		for (int i = 0; i < 200_000; i++) {
+			hyperLogLog.add("com.example.Class" + i);
+		}
+		assertThat((double) hyperLogLog.estimate()).isEqualTo(200_000,
+				offset(200_000 * hyperLogLog.getStandardError() * 3));
+	}
+
+	@Test
+	void mergeIsEquivalentToUnion() {
+		HyperLogLog first = new HyperLogLog(12);
+		HyperLogLog second = new HyperLogLog(12);
+		HyperLogLog union = new HyperLogLog(12);
+		for (int i = 0; i < 10_000; i++) {
+			String className = "com.example.Class" + i;
+			((i % 2 == 0) ? first : second).add(className);
+			union.add(className);
+		}
+		first.merge(second);
+		assertThat(first.estimate()).isEqualTo(union.estimate());
+	}
+
+}
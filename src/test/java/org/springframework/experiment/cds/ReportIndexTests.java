@@ -0,0 +1,95 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.experiment.cds.ReportIndex.PackageStatistics;
+import org.springframework.experiment.cds.parser.CdsArchiveLogParser;
+import org.springframework.experiment.cds.parser.CdsArchiveReport;
+import org.springframework.experiment.cds.parser.ClassLoadEvent;
+import org.springframework.experiment.cds.parser.ClassLoadingLogParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link ReportIndex}.
+ *
+ * @author Stephane Nicoll
+ */
+class ReportIndexTests {
+
+	private final ReportIndex index = new ReportIndex();
+
+	@Test
+	void getLocations() throws IOException {
+		indexClassLoadingLog("jars-and-jdk-archive");
+		assertThat(this.index.getLocations("java.lang.Object"))
+			.containsExactly(entry("jars-and-jdk-archive", ReportIndex.CACHE_LOCATION));
+		assertThat(this.index.getLocations("org.springframework.context.ApplicationListener"))
+			.containsExactly(entry("jars-and-jdk-archive", "BOOT-INF/lib/spring-context-6.1.0-RC2.jar"));
+		assertThat(this.index.getLocations("com.example.Unknown")).isEmpty();
+	}
+
+	@Test
+	void getLocationsOfClassLoadedFromSeveralSources() {
+		ReportIndex.Source first = this.index.register("first.log");
+		ReportIndex.Source second = this.index.register("second.log");
+		this.index.add(second, new ClassLoadEvent("com.example.Test", "second.jar", null, null));
+		this.index.add(first, new ClassLoadEvent("com.example.Test", "first.jar", null, null));
+		assertThat(this.index.getLocations("com.example.Test")).containsExactly(entry("first.log", "first.jar"),
+				entry("second.log", "second.jar"));
+	}
+
+	@Test
+	void getClasses() throws IOException {
+		indexClassLoadingLog("jars-only");
+		assertThat(this.index.getClasses("BOOT-INF/lib/spring-jcl-6.1.0-RC2.jar")).containsExactly(
+				"org.apache.commons.logging.LogFactory", "org.apache.commons.logging.LogFactory$1",
+				"org.apache.commons.logging.LogAdapter");
+		assertThat(this.index.getClasses("unknown.jar")).isEmpty();
+	}
+
+	@Test
+	void getPackageStatistics() throws IOException {
+		indexClassLoadingLog("jars-and-jdk-archive");
+		PackageStatistics java = this.index.getPackageStatistics("java");
+		assertThat(java.getHits()).isEqualTo(3);
+		assertThat(java.getMisses()).isZero();
+		assertThat(java.getHitRate()).isEqualTo(1.0f);
+		PackageStatistics springframework = this.index.getPackageStatistics("org.springframework");
+		assertThat(springframework.getHits()).isZero();
+		assertThat(springframework.getMisses()).isEqualTo(1);
+		assertThat(
+				this.index.getPackageStatistics("jav").getMisses() + this.index.getPackageStatistics("jav").getHits())
+			.isZero();
+	}
+
+	@Test
+	void getSkippedClasses() throws IOException {
+		ReportIndex.Source source = this.index.register("archive");
+		new CdsArchiveLogParser().parse(new ClassPathResource("sample/logs/cds-archive-interface-excluded.log"),
+				(event) -> {
+					this.index.add(event);
+					source.recordEvent();
+				});
+		source.loaded();
+		assertThat(this.index.getReasons()).containsExactly(CdsArchiveReport.INTERFACE_EXCLUDED);
+		assertThat(this.index.getSkippedClasses(CdsArchiveReport.INTERFACE_EXCLUDED)).hasSize(2);
+		assertThat(this.index.getSources()).singleElement().satisfies((indexed) -> {
+			assertThat(indexed.getEvents()).isEqualTo(2);
+			assertThat(indexed.getStatus()).isEqualTo(ReportIndex.Source.Status.LOADED);
+		});
+	}
+
+	private void indexClassLoadingLog(String name) throws IOException {
+		ClassLoadingLogParser parser = new ClassLoadingLogParser(Path.of("/tmp/test-app/target/app/"));
+		ReportIndex.Source source = this.index.register(name);
+		parser.parse(new ClassPathResource("sample/logs/%s.log".formatted(name)),
+				(event) -> this.index.add(source, event));
+	}
+
+}
@@ -0,0 +1,110 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.experiment.cds.parser.ClassLoadingLogParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ReportQueryServer}.
+ *
+ * @author Stephane Nicoll
+ */
+class ReportQueryServerTests {
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	private ReportQueryServer server;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		ReportIndex index = new ReportIndex();
+		ClassLoadingLogParser parser = new ClassLoadingLogParser(Path.of("/tmp/test-app/target/app/"));
+		ReportIndex.Source source = index.register("cds.log");
+		parser.parse(new ClassPathResource("sample/logs/jars-and-jdk-archive.log"),
+				(event) -> index.add(source, event));
+		this.server = new ReportQueryServer(index, 0);
+		this.server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		this.server.stop();
+	}
+
+	@Test
+	void queryClassLocation() throws Exception {
+		HttpResponse<String> response = get("/class?name=org.springframework.context.ApplicationListener");
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).isEqualTo("{\"class\":\"org.springframework.context.ApplicationListener\","
+				+ "\"locations\":{\"cds.log\":\"BOOT-INF/lib/spring-context-6.1.0-RC2.jar\"}}");
+	}
+
+	@Test
+	void queryWithPathThatStartsWithQueryPath() throws Exception {
+		for (String path : new String[] { "/classes", "/class/anything", "/statusX", "/reasons/1" }) {
+			HttpResponse<String> response = get(path + "?name=java.lang.Object");
+			assertThat(response.statusCode()).isEqualTo(404);
+			assertThat(response.body()).isEqualTo("{\"error\":\"Unknown query '" + path + "'\"}");
+		}
+	}
+
+	@Test
+	void queryLocationClasses() throws Exception {
+		HttpResponse<String> response = get("/location?name=BOOT-INF/lib/spring-jcl-6.1.0-RC2.jar");
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).isEqualTo("{\"location\":\"BOOT-INF/lib/spring-jcl-6.1.0-RC2.jar\","
+				+ "\"classes\":[\"org.apache.commons.logging.LogFactory\"]}");
+	}
+
+	@Test
+	void queryPackageHitRate() throws Exception {
+		HttpResponse<String> response = get("/package?prefix=java");
+		assertThat(response.statusCode()).isEqualTo(200);
+		assertThat(response.body()).isEqualTo("{\"prefix\":\"java\",\"hits\":3,\"misses\":0,\"hitRate\":1.0}");
+	}
+
+	@Test
+	void queryWithMissingParameter() throws Exception {
+		HttpResponse<String> response = get("/class");
+		assertThat(response.statusCode()).isEqualTo(400);
+		assertThat(response.body()).isEqualTo("{\"error\":\"Missing 'name' query parameter\"}");
+	}
+
+	@Test
+	void queryWithUnexpectedError() throws Exception {
+		ReportIndex index = new ReportIndex() {
+
+			@Override
+			Map<String, String> getLocations(String className) {
+				throw new IllegalStateException("Index is corrupted");
+			}
+
+		};
+		this.server.stop();
+		this.server = new ReportQueryServer(index, 0);
+		this.server.start();
+		HttpResponse<String> response = get("/class?name=com.example.Test");
+		assertThat(response.statusCode()).isEqualTo(500);
+		assertThat(response.body()).isEqualTo("{\"error\":\"Index is corrupted\"}");
+	}
+
+	private HttpResponse<String> get(String path) throws Exception {
+		URI uri = URI.create("http://localhost:" + this.server.getPort() + path);
+		return this.client.send(HttpRequest.newBuilder(uri).GET().build(), BodyHandlers.ofString());
+	}
+
+}
@@ -0,0 +1,65 @@
+package org.springframework.experiment.cds;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.experiment.cds.SpaceSavingSketch.Estimate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link SpaceSavingSketch}.
+ *
+ * @author Stephane Nicoll
+ */
+class SpaceSavingSketchTests {
+
+	@Test
+	void topWithinCapacityIsExact() {
+		SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(10);
+		sketch.add("a", 5);
+		sketch.add("b", 3);
+		sketch.add("c");
+		sketch.add("b");
+		assertThat(sketch.top(2)).containsExactly(new Estimate<>("a", 5, 0), new Estimate<>("b", 4, 0));
+		assertThat(sketch.getTotal()).isEqualTo(10);
+	}
+
+	@Test
+	void topBeyondCapacityKeepsHeavyHitters() {
+		SpaceSavingSketch<String> sketch = new SpaceSavingSketch<>(8);
+		for (int i = 0; i < 1000; i++) {
+			sketch.add("heavy-" + (i % 2));
+			sketch.add("noise-" + i);
+		}
+		List<Estimate<String>> top = sketch.top(2);
+		assertThat(top).extracting(Estimate::element).containsExactlyInAnyOrder("heavy-0", "heavy-1");
+		assertThat(top).allSatisfy((estimate) -> {
+			assertThat(estimate.count()).isGreaterThanOrEqualTo(500);
+			assertThat(estimate.count() - 500).isLessThanOrEqualTo(sketch.getMaxError());
+		});
+	}
+
+	@Test
+	void mergeCombinesCounts() {
+		SpaceSavingSketch<String> first = new SpaceSavingSketch<>(4);
+		first.add("a", 10);
+		first.add("b", 2);
+		SpaceSavingSketch<String> second = new SpaceSavingSketch<>(4);
+		second.add("a", 5);
+		second.add("c", 7);
+		first.merge(second);
+		assertThat(first.getTotal()).isEqualTo(24);
+		assertThat(first.top(3)).containsExactly(new Estimate<>("a", 15, 0), new Estimate<>("c", 7, 0),
+				new Estimate<>("b", 2, 0));
+	}
+
+	@Test
+	void mergeWithDifferentCapacities() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new SpaceSavingSketch<String>(4).merge(new SpaceSavingSketch<>(8)));
+	}
+
+}
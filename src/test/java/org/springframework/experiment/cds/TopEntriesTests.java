@@ -0,0 +1,41 @@
+package org.springframework.experiment.cds;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TopEntries}.
+ *
+ * @author Stephane Nicoll
+ */
+class TopEntriesTests {
+
+	@Test
+	void topReturnsGreatestElementsInDescendingOrder() {
+		List<Integer> top = TopEntries.top(List.of(5, 1, 9, 3, 7, 2, 8), 3, Comparator.naturalOrder());
+		assertThat(top).containsExactly(9, 8, 7);
+	}
+
+	@Test
+	void topWithLimitGreaterThanSizeReturnsAllElements() {
+		List<Integer> top = TopEntries.top(List.of(2, 3, 1), 10, Comparator.naturalOrder());
+		assertThat(top).containsExactly(3, 2, 1);
+	}
+
+	@Test
+	void topWithCustomComparator() {
+		List<String> top = TopEntries.top(List.of("a", "ccc", "bb", "dddd"), 2,
+				Comparator.comparingInt(String::length));
+		assertThat(top).containsExactly("dddd", "ccc");
+	}
+
+	@Test
+	void topWithNonPositiveLimitReturnsEmptyList() {
+		assertThat(TopEntries.top(List.of(1, 2, 3), 0, Comparator.naturalOrder())).isEmpty();
+	}
+
+}
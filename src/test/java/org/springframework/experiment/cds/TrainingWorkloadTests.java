@@ -0,0 +1,137 @@
+package org.springframework.experiment.cds;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.experiment.cds.TrainingWorkload.Request;
+import org.springframework.experiment.cds.TrainingWorkload.Result;
+import org.springframework.experiment.cds.TrainingWorkload.Script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link TrainingWorkload}.
+ *
+ * @author Stephane Nicoll
+ */
+class TrainingWorkloadTests {
+
+	private final Queue<String> received = new ConcurrentLinkedQueue<>();
+
+	private HttpServer server;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		this.server.createContext("/", (exchange) -> {
+			String path = exchange.getRequestURI().getPath();
+			this.received.add(exchange.getRequestMethod() + " " + path);
+			exchange.getRequestBody().readAllBytes();
+			exchange.sendResponseHeaders(path.equals("/missing") ? 404 : 200, -1);
+			exchange.close();
+		});
+		this.server.start();
+	}
+
+	@AfterEach
+	void stopServer() {
+		this.server.stop(0);
+	}
+
+	@Test
+	void parseWorkload() {
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("# Warm up the owners API", "",
+				"ready /actuator/health/readiness", "timeout 90s", "GET /owners", "10x GET /owners/1",
+				"POST /owners {\"firstName\": \"John\"}", "exec ./warmup.sh --fast"));
+		assertThat(workload.getReadinessPath()).isEqualTo("/actuator/health/readiness");
+		assertThat(workload.getTimeout()).isEqualTo(Duration.ofSeconds(90));
+		assertThat(workload.getSteps()).containsExactly(new Request("GET", "/owners", null, 1),
+				new Request("GET", "/owners/1", null, 10),
+				new Request("POST", "/owners", "{\"firstName\": \"John\"}", 1), new Script("./warmup.sh --fast"));
+	}
+
+	@Test
+	void parseWorkloadWithDefaults() {
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("GET /"));
+		assertThat(workload.getReadinessPath()).isNull();
+		assertThat(workload.getTimeout()).isEqualTo(Duration.ofSeconds(60));
+		assertThat(workload.getSteps()).containsExactly(new Request("GET", "/", null, 1));
+	}
+
+	@Test
+	void parseInvalidRequest() {
+		assertThatIllegalArgumentException().isThrownBy(() -> TrainingWorkload.parse(List.of("GET /", "FETCH /owners")))
+			.withMessageContaining("line 2 'FETCH /owners'");
+	}
+
+	@Test
+	void parseInvalidReadinessPath() {
+		assertThatIllegalArgumentException().isThrownBy(() -> TrainingWorkload.parse(List.of("ready health")))
+			.withMessageContaining("path must start with '/'");
+	}
+
+	@Test
+	void runSendsRequests(@TempDir Path workingDirectory) throws Exception {
+		TrainingWorkload workload = TrainingWorkload
+			.parse(List.of("3x GET /owners", "POST /owners {\"name\": \"test\"}", "GET /missing"));
+		Result result = workload.run(baseUri(), workingDirectory);
+		assertThat(result).isEqualTo(new Result(5, 1));
+		assertThat(this.received).containsExactly("GET /owners", "GET /owners", "GET /owners", "POST /owners",
+				"GET /missing");
+	}
+
+	@Test
+	void runExecutesScriptWithApplicationUrl(@TempDir Path workingDirectory) throws Exception {
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("exec echo $APP_URL > url.txt"));
+		workload.run(baseUri(), workingDirectory);
+		assertThat(workingDirectory.resolve("url.txt")).content().isEqualToIgnoringNewLines(baseUri().toString());
+	}
+
+	@Test
+	void runFailsWhenScriptFails(@TempDir Path workingDirectory) {
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("exec exit 3"));
+		assertThatIllegalStateException().isThrownBy(() -> workload.run(baseUri(), workingDirectory))
+			.withMessageContaining("exit code 3");
+	}
+
+	@Test
+	void awaitReadinessWithReadinessPath() throws Exception {
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("ready /ready"));
+		workload.awaitReadiness(baseUri(), () -> true);
+		assertThat(this.received).containsExactly("GET /ready");
+	}
+
+	@Test
+	void awaitReadinessFailsWhenApplicationStops() {
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("ready /missing"));
+		assertThatIllegalStateException().isThrownBy(() -> workload.awaitReadiness(baseUri(), () -> false))
+			.withMessage("Application stopped before it was ready");
+	}
+
+	@Test
+	void awaitReadinessFailsAfterTimeout() {
+		TrainingWorkload workload = TrainingWorkload.parse(List.of("ready /missing", "timeout 500ms"));
+		assertThatIllegalStateException().isThrownBy(() -> workload.awaitReadiness(baseUri(), () -> true))
+			.withMessageContaining("was not ready");
+	}
+
+	private URI baseUri() {
+		return URI.create("http://localhost:" + this.server.getAddress().getPort());
+	}
+
+}
@@ -1,12 +1,15 @@
 package org.springframework.experiment.cds.parser;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.core.io.ClassPathResource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 /**
  * Tests for {@link CdsArchiveLogParser}.
@@ -45,6 +48,85 @@ class CdsArchiveLogParserTests {
 		assertThat(report.getSkipped().get("JFR event class")).containsExactly("jdk.internal.event.ThreadSleepEvent");
 	}
 
+	@Test
+	void parseMixedReasonsNormalizesTemplates() {
+		CdsArchiveReport report = parseSampleLog("cds-archive-mixed-reasons");
+		assertThat(report.getSkippedCount()).isEqualTo(6);
+		assertThat(report.getReasonCounts()).containsExactly(entry("Old class has been linked", 2L),
+				entry("Pre JDK {} class not supported by CDS: {} {}", 2L),
+				entry(CdsArchiveReport.SUPER_CLASS_EXCLUDED, 1L), entry("JFR event class", 1L));
+		assertThat(report.getSkipped().get("Pre JDK {} class not supported by CDS: {} {}"))
+			.containsExactly("org.example.Legacy", "org.example.Ancient");
+	}
+
+	@Test
+	void parseMixedReasonsKeepsRawReason() {
+		CdsArchiveReport report = parseSampleLog("cds-archive-mixed-reasons");
+		assertThat(report.getSkips()).extracting(CdsSkipEvent::reason)
+			.containsExactly("Old class has been linked",
+					"Pre JDK 6 class not supported by CDS: 49.0 org/example/Legacy",
+					"Pre JDK 6 class not supported by CDS: 48.0 org/example/Ancient",
+					"super class org/example/Hidden$$Generated is excluded", "JFR event class",
+					"Old class has been linked");
+		assertThat(report.getSkips().get(1).parameters()).containsExactly("6", "49.0", "org/example/Legacy");
+	}
+
+	@Test
+	void parseExcludedClassesInDefaultPackage() {
+		CdsArchiveReport report = parseSampleLog("cds-archive-default-package");
+		assertThat(report.getReasonCounts()).containsExactly(entry(CdsArchiveReport.SUPER_CLASS_EXCLUDED, 1L),
+				entry(CdsArchiveReport.INTERFACE_EXCLUDED, 1L));
+		assertThat(report.getSkips()).extracting(CdsSkipEvent::reason)
+			.containsExactly("super class Main$$Generated is excluded", "interface Handler is excluded");
+		assertThat(report.getSkips().get(1).parameters()).containsExactly("Handler");
+	}
+
+	@Test
+	void parseReasonsWithNumbersInIdentifiers() {
+		CdsArchiveReport report = parseSampleLog("cds-archive-numbered-names");
+		assertThat(report.getReasonCounts()).containsExactly(entry("Class2 is not linked", 1L),
+				entry("Class3 is not linked", 1L), entry("Class Outer$1 has {} unregistered super types", 1L));
+		assertThat(report.getSkips().get(2).parameters()).containsExactly("2");
+	}
+
+	@Test
+	void skippedClassNamesAreInLogOrder() {
+		CdsArchiveReport report = parseSampleLog("cds-archive-mixed-reasons");
+		assertThat(report.getSkippedClassNames()).containsExactly("org.example.Old", "org.example.Legacy",
+				"org.example.Ancient", "org.example.Generated$Proxy", "jdk.internal.event.ThreadSleepEvent",
+				"org.example.Another");
+		assertThat(report.getSkipped()).isSameAs(report.getSkipped());
+	}
+
+	@Test
+	void curatedReasonsKeepTheirKey() {
+		assertThat(CdsArchiveReport.INTERFACE_EXCLUDED).isEqualTo("interface is excluded");
+		assertThat(CdsArchiveReport.SUPER_CLASS_EXCLUDED).isEqualTo("super class is excluded");
+	}
+
+	@Test
+	void combineReports() {
+		CdsArchiveReport report = CdsArchiveReport.combine(
+				List.of(parseSampleLog("cds-archive-interface-excluded"), parseSampleLog("cds-archive-jfr-event")));
+		assertThat(report.getSkippedCount()).isEqualTo(3);
+		assertThat(report.getReasonCounts()).containsExactly(entry(CdsArchiveReport.INTERFACE_EXCLUDED, 2L),
+				entry("JFR event class", 1L));
+	}
+
+	@Test
+	void eventsCanBeFiltered() throws IOException {
+		ClassPathResource resource = new ClassPathResource("sample/logs/cds-archive-mixed-reasons.log");
+		CdsArchiveReport expected = this.parser.parse(resource);
+		try (Stream<CdsSkipEvent> events = this.parser.events(resource)) {
+			CdsArchiveReport report = events
+				.filter((event) -> event.template().equals(CdsArchiveReport.SUPER_CLASS_EXCLUDED))
+				.collect(CdsArchiveReport.collector());
+			assertThat(report.getSkipped()).containsOnlyKeys(CdsArchiveReport.SUPER_CLASS_EXCLUDED);
+			assertThat(report.getSkippedCount())
+				.isEqualTo(expected.getReasonCounts().get(CdsArchiveReport.SUPER_CLASS_EXCLUDED));
+		}
+	}
+
 	private CdsArchiveReport parseSampleLog(String name) {
 		ClassPathResource resource = new ClassPathResource("sample/logs/%s.log".formatted(name));
 		try {
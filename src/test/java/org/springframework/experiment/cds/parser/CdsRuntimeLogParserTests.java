@@ -0,0 +1,82 @@
+package org.springframework.experiment.cds.parser;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.experiment.cds.parser.CdsRuntimeReport.MappedRegion;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link CdsRuntimeLogParser}.
+ *
+ * @author Stephane Nicoll
+ */
+class CdsRuntimeLogParserTests {
+
+	private final CdsRuntimeLogParser parser = new CdsRuntimeLogParser();
+
+	@Test
+	void parseMappedArchive() {
+		CdsRuntimeReport report = parseSampleLog("cds-runtime-mapped");
+		assertThat(report.isMapped()).isTrue();
+		assertThat(report.isRelocated()).isFalse();
+		assertThat(report.isAddressMappingFailed()).isFalse();
+		assertThat(report.getValidationFailures()).isEmpty();
+		assertThat(report.getRegions()).hasSize(4);
+		assertThat(report.getRegions().get(0))
+			.isEqualTo(new MappedRegion("static", 0, "ReadWrite", 0x800000000L, 0x800450000L, true));
+		assertThat(report.getRegions().get(3).archive()).isEqualTo("dynamic");
+		assertThat(report.getMappedSize()).isEqualTo(0xc20000L + 0xe00000L);
+	}
+
+	@Test
+	void parseRelocatedArchive() {
+		CdsRuntimeReport report = parseSampleLog("cds-runtime-relocated");
+		assertThat(report.isMapped()).isTrue();
+		assertThat(report.isRelocated()).isTrue();
+		assertThat(report.isAddressMappingFailed()).isTrue();
+		assertThat(report.getAddressFailures())
+			.containsExactly("Unable to map static shared space at required address.");
+		assertThat(report.getRelocations()).containsExactly("Try to map archive(s) at an alternative address",
+				"runtime archive relocation start", "runtime archive relocation done");
+		assertThat(report.getValidationFailures()).isEmpty();
+	}
+
+	@Test
+	void parseArchiveRelocatedByRelocationMode() {
+		CdsRuntimeReport report = parseSampleLog("cds-runtime-relocation-mode");
+		assertThat(report.isMapped()).isTrue();
+		assertThat(report.isRelocated()).isTrue();
+		assertThat(report.isAddressMappingFailed()).isFalse();
+		assertThat(report.getRelocations()).containsExactly(
+				"ArchiveRelocationMode == 1: always map archive(s) at an alternative address",
+				"Try to map archive(s) at an alternative address", "runtime archive relocation start",
+				"runtime archive relocation done");
+	}
+
+	@Test
+	void parseValidationFailure() {
+		CdsRuntimeReport report = parseSampleLog("cds-runtime-validation-failure");
+		assertThat(report.isMapped()).isFalse();
+		assertThat(report.isRelocated()).isFalse();
+		assertThat(report.getRegions()).singleElement().satisfies((region) -> assertThat(region.mapped()).isFalse());
+		assertThat(report.getMappedSize()).isZero();
+		assertThat(report.getValidationFailures()).containsExactly(
+				"shared class paths mismatch (hint: enable -Xlog:class+path=info to diagnose the failure)",
+				"Unable to use shared archive.");
+	}
+
+	private CdsRuntimeReport parseSampleLog(String name) {
+		ClassPathResource resource = new ClassPathResource("sample/logs/%s.log".formatted(name));
+		try {
+			return this.parser.parse(resource);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
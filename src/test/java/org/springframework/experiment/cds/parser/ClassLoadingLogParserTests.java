@@ -1,12 +1,19 @@
 package org.springframework.experiment.cds.parser;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
@@ -21,6 +28,9 @@ class ClassLoadingLogParserTests {
 
 	private final ClassLoadingLogParser parser = new ClassLoadingLogParser(Path.of("/tmp/test-app/target/app/"));
 
+	private final ClassLoadingLogParser threadIdParser = new ClassLoadingLogParser(Path.of("/tmp/test-app/target/app/"),
+			LogDecorators.of("uptime,tid,tags"));
+
 	@Test
 	void parseJdkArchiveOnly() {
 		ClassLoadingReport report = parseSampleLog("jdk-archive-only");
@@ -97,6 +107,128 @@ class ClassLoadingLogParserTests {
 			.of("java.lang.invoke.DelegatingMethodHandle$Holder", "java.lang.invoke.DirectMethodHandle$Holder")));
 	}
 
+	@Test
+	void parseLogWithThreadIds() throws IOException {
+		ClassLoadingReport report = this.threadIdParser.parser(sampleLog("thread-id-format"));
+		assertThat(report.getLoadCount()).isEqualTo(6);
+		assertThat(report.getThreads()).containsOnlyKeys("12001", "12042");
+		ThreadActivity mainThread = report.getMainThread();
+		assertThat(mainThread).isNotNull();
+		assertThat(mainThread.getThreadId()).isEqualTo("12001");
+		assertThat(mainThread.getHitCount()).isEqualTo(2);
+		assertThat(mainThread.getMissCount()).isEqualTo(2);
+		assertThat(mainThread.getMisses().get("BOOT-INF/lib/spring-context-6.1.0-RC2.jar")).containsExactly(
+				"org.springframework.context.ApplicationListener", "org.springframework.context.ApplicationEvent");
+		assertThat(mainThread.getFirstUptime()).isEqualTo(Duration.ofMillis(5));
+		assertThat(mainThread.getSpan()).isEqualTo(Duration.ofMillis(245));
+		ThreadActivity backgroundThread = report.getThreads().get("12042");
+		assertThat(backgroundThread.getHitCount()).isEqualTo(1);
+		assertThat(backgroundThread.getMisses()).containsOnlyKeys("BOOT-INF/lib/spring-jcl-6.1.0-RC2.jar");
+		assertThat(backgroundThread.getSpan()).isEqualTo(Duration.ofMillis(10));
+	}
+
+	@Test
+	void parseLogWithThreadIdsAndDefaultDecorators() {
+		ClassLoadingReport report = parseSampleLog("thread-id-format");
+		assertThat(report.getLoadCount()).isEqualTo(6);
+		assertThat(report.getThreads()).isEmpty();
+	}
+
+	@Test
+	void parseLogWithoutThreadIds() {
+		ClassLoadingReport report = parseSampleLog("default-log-format");
+		assertThat(report.getThreads()).isEmpty();
+		assertThat(report.getMainThread()).isNull();
+	}
+
+	@Test
+	void eventsAreStreamedInLogOrder() throws IOException {
+		try (Stream<ClassLoadEvent> events = this.parser.events(sampleLog("jars-and-jdk-archive"))) {
+			assertThat(events.filter((event) -> !event.isHit()).map(ClassLoadEvent::className)).containsExactly(
+					"org.springframework.context.ApplicationListener", "org.apache.commons.logging.LogFactory");
+		}
+	}
+
+	@Test
+	void eventsCanBeShortCircuited() throws IOException {
+		try (Stream<ClassLoadEvent> events = this.parser.events(sampleLog("jdk-archive-only"))) {
+			assertThat(events.limit(2).map(ClassLoadEvent::className)).containsExactly("java.lang.Object",
+					"java.io.Serializable");
+		}
+	}
+
+	@Test
+	void eventsCollectedInParallelMatchReport() throws IOException {
+		ClassLoadingReport expected = this.threadIdParser.parser(sampleLog("thread-id-format"));
+		try (Stream<ClassLoadEvent> events = this.threadIdParser.events(sampleLog("thread-id-format"))) {
+			ClassLoadingReport report = events.toList().parallelStream().collect(ClassLoadingReport.collector());
+			assertThat(report.getHits()).isEqualTo(expected.getHits());
+			assertThat(report.getMisses()).isEqualTo(expected.getMisses());
+			assertThat(report.getThreads()).containsOnlyKeys(expected.getThreads().keySet());
+			assertThat(report.getMainThread()).isNotNull();
+			assertThat(report.getMainThread().getLoadCount()).isEqualTo(expected.getMainThread().getLoadCount());
+		}
+	}
+
+	@Test
+	void sampleWithSlotsSmallerThanLinesReadsEveryLineOnce() throws IOException {
+		ClassPathResource resource = sampleLog("jars-and-jdk-archive");
+		ClassLoadingReport report = this.parser.parser(resource);
+		ClassLoadingEstimate estimate = this.parser.sample(resource, SamplingOptions.of(0.01).withSlots(16, 1000));
+		assertThat(estimate.isComplete()).isTrue();
+		assertThat(estimate.getSampledLoadCount()).isEqualTo(report.getLoadCount());
+		assertThat(estimate.getHitRate().value()).isEqualTo(report.getHitRate(), offset(0.0001));
+		assertThat(estimate.getHitRate().margin()).isZero();
+		assertThat(estimate.getTopLocations(10)).hasSize(2).allSatisfy((location) -> {
+			assertThat(location.count().value()).isEqualTo(1);
+			assertThat(location.count().margin()).isZero();
+		});
+	}
+
+	@Test
+	void sampleStopsOnceRequestedPrecisionIsReached(@TempDir Path tempDir) throws IOException {
+		Path logFile = tempDir.resolve("cds.log");
+		Random random = new Random(42);
+		int hits = 0;
+		int lambdas = 0;
+		try (Writer writer = Files.newBufferedWriter(logFile)) {
+			for (int i = 0; i < 200_000; i++) {
+				boolean lambda = random.nextInt(10) == 0;
+				String className = "com.example.Class" + i + ((lambda) ? "$$Lambda/0x01" : "");
+				lambdas += (lambda) ? 1 : 0;
+				if (random.nextInt(10) < 7) {
+					hits++;
+					writer.write("[class,load] %s source: shared objects file%n".formatted(className));
+				}
+				else {
+					writer.write("[class,load] %s source: jar:nested:/app.jar/!BOOT-INF/lib/lib%d.jar!/%n"
+						.formatted(className, random.nextInt(3)));
+				}
+			}
+		}
+		ClassLoadingEstimate estimate = this.parser.sample(new FileSystemResource(logFile),
+				SamplingOptions.of(0.02).withSeed(42).withCategory("Lambdas", (name) -> name.contains("$$Lambda")));
+		assertThat(estimate.isComplete()).isFalse();
+		assertThat(estimate.getSampledBytes()).isLessThan(estimate.getTotalBytes() / 2);
+		assertThat(estimate.getHitRate().margin()).isLessThanOrEqualTo(0.02);
+		assertThat(hits / 200_000d).isBetween(estimate.getHitRate().lower(), estimate.getHitRate().upper());
+		assertThat(200_000d).isBetween(estimate.getLoadCount().lower(), estimate.getLoadCount().upper());
+		ClassLoadingEstimate.Estimate lambdaShare = estimate.getCategoryShares().get("Lambdas");
+		assertThat(lambdas / 200_000d).isBetween(lambdaShare.lower(), lambdaShare.upper());
+		assertThat(estimate.getTopLocations(10)).extracting(ClassLoadingEstimate.LocationEstimate::location)
+			.containsOnly("BOOT-INF/lib/lib0.jar", "BOOT-INF/lib/lib1.jar", "BOOT-INF/lib/lib2.jar");
+	}
+
+	@Test
+	void zScoreOfCommonConfidenceLevels() {
+		assertThat(ClassLoadingSampler.zScore(0.95)).isEqualTo(1.96, offset(0.001));
+		assertThat(ClassLoadingSampler.zScore(0.99)).isEqualTo(2.576, offset(0.001));
+	}
+
+	private ClassPathResource sampleLog(String name) {
+		return new ClassPathResource("sample/logs/%s.log".formatted(name));
+	}
+
 	private ClassLoadingReport parseSampleLog(String name) {
 		ClassPathResource resource = new ClassPathResource("sample/logs/%s.log".formatted(name));
 		try {
@@ -0,0 +1,103 @@
+package org.springframework.experiment.cds.parser;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link LogDecorators}.
+ *
+ * @author Stephane Nicoll
+ */
+class LogDecoratorsTests {
+
+	private static final String MESSAGE = "[class,load] java.lang.Object source: shared objects file";
+
+	@Test
+	void parseWithDefaultDecorators() {
+		LogLine line = LogLine.parse("[0.005s][info]" + MESSAGE, LogDecorators.DEFAULT);
+		assertThat(line.threadId()).isNull();
+		assertThat(line.uptime()).isEqualTo(Duration.ofMillis(5));
+	}
+
+	@Test
+	void parseWithDefaultDecoratorsAndNoLevel() {
+		LogLine line = LogLine.parse("[0.005s]" + MESSAGE, LogDecorators.DEFAULT);
+		assertThat(line.threadId()).isNull();
+		assertThat(line.uptime()).isEqualTo(Duration.ofMillis(5));
+	}
+
+	@Test
+	void parseWithThreadId() {
+		LogLine line = LogLine.parse("[0.005s][12001][info]" + MESSAGE, LogDecorators.of("uptime,tid,tags"));
+		assertThat(line.threadId()).isEqualTo("12001");
+		assertThat(line.uptime()).isEqualTo(Duration.ofMillis(5));
+	}
+
+	@Test
+	void parseWithThreadIdAndNoLevel() {
+		LogLine line = LogLine.parse("[0.005s][12001]" + MESSAGE, LogDecorators.of("uptime,tid,tags"));
+		assertThat(line.threadId()).isEqualTo("12001");
+		assertThat(line.uptime()).isEqualTo(Duration.ofMillis(5));
+	}
+
+	@Test
+	void parseWithTagsOnly() {
+		LogLine line = LogLine.parse(MESSAGE, LogDecorators.DEFAULT);
+		assertThat(line.threadId()).isNull();
+		assertThat(line.uptime()).isNull();
+	}
+
+	@Test
+	void parseWithPidOnly() {
+		LogLine line = LogLine.parse("[0.005s][4242][info]" + MESSAGE, LogDecorators.of("uptime,pid,tags"));
+		assertThat(line.threadId()).isNull();
+		assertThat(line.uptime()).isEqualTo(Duration.ofMillis(5));
+	}
+
+	@Test
+	void parseWithPidAndTid() {
+		LogLine line = LogLine.parse("[0.005s][4242][12001][info]" + MESSAGE,
+				LogDecorators.of("tid,pid,level,tags,uptime"));
+		assertThat(line.threadId()).isEqualTo("12001");
+	}
+
+	@Test
+	void parseWithUnexpectedDecoratorsDoesNotCaptureThreadId() {
+		LogLine line = LogLine.parse("[0.005s][12001][info]" + MESSAGE, LogDecorators.DEFAULT);
+		assertThat(line.threadId()).isNull();
+		assertThat(line.uptime()).isNull();
+	}
+
+	@Test
+	void parseWithMillis() {
+		LogLine line = LogLine.parse("[1700000000000ms][150ms][12001]" + MESSAGE,
+				LogDecorators.of("timemillis,uptimemillis,tid,tags"));
+		assertThat(line.threadId()).isEqualTo("12001");
+		assertThat(line.uptime()).isEqualTo(Duration.ofMillis(150));
+	}
+
+	@Test
+	void parseWithTimeMillisOnlyDoesNotCaptureUptime() {
+		LogLine line = LogLine.parse("[1700000000000ms][12001]" + MESSAGE, LogDecorators.of("tm,ti,tg"));
+		assertThat(line.threadId()).isEqualTo("12001");
+		assertThat(line.uptime()).isNull();
+	}
+
+	@Test
+	void parseWithNanos() {
+		LogLine line = LogLine.parse("[5000000ns]" + MESSAGE, LogDecorators.of("uptimenanos,tags"));
+		assertThat(line.threadId()).isNull();
+		assertThat(line.uptime()).isEqualTo(Duration.ofMillis(5));
+	}
+
+	@Test
+	void ofWithUnknownDecorator() {
+		assertThatIllegalArgumentException().isThrownBy(() -> LogDecorators.of("uptime,thread"))
+			.withMessage("Unknown log decorator 'thread'");
+	}
+
+}
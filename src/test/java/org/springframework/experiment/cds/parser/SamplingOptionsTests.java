@@ -0,0 +1,34 @@
+package org.springframework.experiment.cds.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link SamplingOptions}.
+ *
+ * @author Stephane Nicoll
+ */
+class SamplingOptionsTests {
+
+	@Test
+	void withSlots() {
+		SamplingOptions options = SamplingOptions.of(0.01).withSlots(16, 1000);
+		assertThat(options.slotSize()).isEqualTo(16);
+		assertThat(options.minimumSlots()).isEqualTo(1000);
+	}
+
+	@Test
+	void withInvalidSlotSize() {
+		assertThatIllegalArgumentException().isThrownBy(() -> SamplingOptions.of(0.01).withSlots(0, 10))
+			.withMessage("Slot size must be positive, got 0");
+	}
+
+	@Test
+	void withInvalidMinimumSlots() {
+		assertThatIllegalArgumentException().isThrownBy(() -> SamplingOptions.of(0.01).withSlots(16, 0))
+			.withMessage("Minimum number of slots must be positive, got 0");
+	}
+
+}